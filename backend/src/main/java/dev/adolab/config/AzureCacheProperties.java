@@ -0,0 +1,10 @@
+package dev.adolab.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "azure.cache")
+public record AzureCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("50000") int maxEntries
+) {}
@@ -27,4 +27,8 @@ public record AzureDevOpsProperties(
     public String workItemCommentsUrl(String org, String project, int workItemId) {
         return baseUrl + "/" + org + "/" + project + "/_apis/wit/workitems/" + workItemId + "/comments";
     }
+
+    public String reportingRevisionsUrl(String org, String project) {
+        return baseUrl + "/" + org + "/" + project + "/_apis/wit/reporting/workitemrevisions";
+    }
 }
@@ -0,0 +1,18 @@
+package dev.adolab.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "embedding.jobs")
+public record EmbeddingJobProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("2") int workers,
+        @DefaultValue("16") int claimBatchSize,
+        @DefaultValue("2s") Duration pollInterval,
+        @DefaultValue("5") int maxAttempts,
+        @DefaultValue("30s") Duration retryBackoff,
+        @DefaultValue("30m") Duration retryBackoffMax,
+        @DefaultValue("10m") Duration lease
+) {}
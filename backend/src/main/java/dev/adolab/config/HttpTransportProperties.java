@@ -0,0 +1,25 @@
+package dev.adolab.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "http")
+public record HttpTransportProperties(
+        @DefaultValue HostSettings azure,
+        @DefaultValue HostSettings openai
+) {
+
+    public record HostSettings(
+            @DefaultValue("5s") Duration connectTimeout,
+            @DefaultValue("60s") Duration readTimeout,
+            @DefaultValue("4") int maxRetries,
+            @DefaultValue("500ms") Duration retryBackoff,
+            @DefaultValue("30s") Duration retryBackoffMax,
+            @DefaultValue("2m") Duration maxRetryAfter,
+            @DefaultValue("8") int initialConcurrency,
+            @DefaultValue("2") int minConcurrency,
+            @DefaultValue("16") int maxConcurrency
+    ) {}
+}
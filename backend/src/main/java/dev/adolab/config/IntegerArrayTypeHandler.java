@@ -0,0 +1,40 @@
+package dev.adolab.config;
+
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+
+import java.sql.*;
+
+public class IntegerArrayTypeHandler extends BaseTypeHandler<Integer[]> {
+
+    @Override
+    public void setNonNullParameter(PreparedStatement ps, int i, Integer[] parameter, JdbcType jdbcType) throws SQLException {
+        Array array = ps.getConnection().createArrayOf("INTEGER", parameter);
+        ps.setArray(i, array);
+    }
+
+    @Override
+    public Integer[] getNullableResult(ResultSet rs, String columnName) throws SQLException {
+        return toIntegerArray(rs.getArray(columnName));
+    }
+
+    @Override
+    public Integer[] getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+        return toIntegerArray(rs.getArray(columnIndex));
+    }
+
+    @Override
+    public Integer[] getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+        return toIntegerArray(cs.getArray(columnIndex));
+    }
+
+    private Integer[] toIntegerArray(Array array) throws SQLException {
+        if (array == null) return null;
+        Object[] objects = (Object[]) array.getArray();
+        Integer[] result = new Integer[objects.length];
+        for (int i = 0; i < objects.length; i++) {
+            result[i] = objects[i] != null ? ((Number) objects[i]).intValue() : null;
+        }
+        return result;
+    }
+}
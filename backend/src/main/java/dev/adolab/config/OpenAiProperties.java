@@ -1,12 +1,20 @@
 package dev.adolab.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
 
 @ConfigurationProperties(prefix = "openai")
 public record OpenAiProperties(
         String apiKey,
         String model,
-        String embeddingModel
+        String embeddingModel,
+        @DefaultValue("256") int embeddingBatchSize,
+        @DefaultValue("100000") int embeddingBatchTokens,
+        @DefaultValue("500") int chatRequestsPerMinute,
+        @DefaultValue("200000") int chatTokensPerMinute,
+        @DefaultValue("3000") int embeddingRequestsPerMinute,
+        @DefaultValue("1000000") int embeddingTokensPerMinute,
+        @DefaultValue("8") int workerConcurrency
 ) {
     public String chatCompletionsUrl() {
         return "https://api.openai.com/v1/chat/completions";
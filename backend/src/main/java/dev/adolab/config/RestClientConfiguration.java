@@ -1,30 +1,67 @@
 package dev.adolab.config;
 
+import dev.adolab.config.HttpTransportProperties.HostSettings;
+import dev.adolab.domain.ai.OpenAiRateLimiter;
+import dev.adolab.transport.http.GzipDecodingInterceptor;
+import dev.adolab.transport.http.MeteredRequestInterceptor;
+import dev.adolab.transport.http.ThrottlingRetryInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
 
+import java.net.http.HttpClient;
 import java.util.Base64;
+import java.util.concurrent.Executors;
 
+/**
+ * Both clients run on the JDK HTTP client: HTTP/2 with pooled keep-alive connections, gzip responses,
+ * per-host timeouts and an adaptive, throttling-aware limiter per host (see {@code http.*}). Every call is
+ * timed per host and endpoint under {@code adolab.http.client}. OpenAI attempts are also paced by
+ * {@link OpenAiRateLimiter}.
+ */
 @Configuration
 public class RestClientConfiguration {
 
     @Bean
-    public RestClient azureDevOpsRestClient(AzureDevOpsProperties props) {
+    public RestClient azureDevOpsRestClient(AzureDevOpsProperties props, HttpTransportProperties transport,
+                                            MeterRegistry meterRegistry) {
         String credentials = Base64.getEncoder()
                 .encodeToString((":" + props.pat()).getBytes());
 
         return RestClient.builder()
                 .baseUrl(props.baseUrl())
                 .defaultHeader("Authorization", "Basic " + credentials)
+                .requestFactory(requestFactory(transport.azure()))
+                .requestInterceptor(new MeteredRequestInterceptor("azure-devops", meterRegistry))
+                .requestInterceptor(new GzipDecodingInterceptor())
+                .requestInterceptor(new ThrottlingRetryInterceptor("azure-devops", transport.azure()))
                 .build();
     }
 
     @Bean
-    public RestClient openAiRestClient(OpenAiProperties props) {
+    public RestClient openAiRestClient(OpenAiProperties props, HttpTransportProperties transport,
+                                       OpenAiRateLimiter rateLimiter, MeterRegistry meterRegistry) {
         return RestClient.builder()
                 .baseUrl("https://api.openai.com")
                 .defaultHeader("Authorization", "Bearer " + props.apiKey())
+                .requestFactory(requestFactory(transport.openai()))
+                .requestInterceptor(new MeteredRequestInterceptor("openai", meterRegistry))
+                .requestInterceptor(new GzipDecodingInterceptor())
+                .requestInterceptor(new ThrottlingRetryInterceptor("openai", transport.openai(), rateLimiter))
                 .build();
     }
+
+    private static JdkClientHttpRequestFactory requestFactory(HostSettings settings) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(settings.connectTimeout())
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient);
+        factory.setReadTimeout(settings.readTimeout());
+        return factory;
+    }
 }
@@ -0,0 +1,16 @@
+package dev.adolab.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "search.cache")
+public record SearchCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("true") boolean redisEnabled,
+        @DefaultValue("2000") int embeddingMaxEntries,
+        @DefaultValue("7d") Duration embeddingTtl,
+        @DefaultValue("1000") int planMaxEntries,
+        @DefaultValue("6h") Duration planTtl
+) {}
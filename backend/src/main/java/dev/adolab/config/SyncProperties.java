@@ -0,0 +1,29 @@
+package dev.adolab.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "sync")
+public record SyncProperties(
+        @DefaultValue("8") int commentConcurrency,
+        @DefaultValue("4") int pipelineQueueCapacity,
+        @DefaultValue("true") boolean deltaEnabled,
+        @DefaultValue("10m") Duration deltaOverlap,
+        @DefaultValue("6h") Duration reconcileInterval,
+        @DefaultValue("1000") int revisionPageSize,
+        @DefaultValue("1000") int revisionMaxPages,
+        @DefaultValue("24h") Duration resumeMaxAge,
+        @DefaultValue("true") boolean clusterLock,
+        @DefaultValue("2m") Duration lockLease,
+        @DefaultValue("2h") Duration lockWaitTimeout,
+        @DefaultValue("3") int maxParallelConfigs,
+        @DefaultValue("30s") Duration configCacheTtl,
+        @DefaultValue("24h") Duration jobRetention,
+        @DefaultValue("1s") Duration jobEventInterval,
+        @DefaultValue("2h") Duration jobEventsTimeout,
+        @DefaultValue("1m") Duration jobLease,
+        @DefaultValue("2000") int closureRebuildThreshold,
+        @DefaultValue("2000") int rollupRebuildThreshold
+) {}
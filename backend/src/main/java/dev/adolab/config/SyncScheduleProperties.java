@@ -0,0 +1,17 @@
+package dev.adolab.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "sync.schedule")
+public record SyncScheduleProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("2m") Duration minInterval,
+        @DefaultValue("30m") Duration maxInterval,
+        @DefaultValue("5m") Duration initialInterval,
+        @DefaultValue("0.2") double jitter,
+        @DefaultValue("25") int busyThreshold,
+        @DefaultValue("2.0") double backoffFactor
+) {}
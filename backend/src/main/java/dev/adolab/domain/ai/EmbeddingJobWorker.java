@@ -0,0 +1,199 @@
+package dev.adolab.domain.ai;
+
+import dev.adolab.config.EmbeddingJobProperties;
+import dev.adolab.domain.ai.dao.EmbeddingJobDao;
+import dev.adolab.domain.ai.dto.EmbeddingBatchResult;
+import dev.adolab.domain.ai.dto.EmbeddingJob;
+import dev.adolab.domain.workitem.dao.WorkItemCommentDao;
+import dev.adolab.domain.workitem.dao.WorkItemDao;
+import dev.adolab.domain.workitem.entity.WorkItem;
+import dev.adolab.domain.workitem.entity.WorkItemComment;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the {@code embedding_job} table. Every backend instance runs its own pool of workers; rows are
+ * claimed with {@code FOR UPDATE SKIP LOCKED}, so instances never process the same job at once.
+ */
+@Component
+public class EmbeddingJobWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(EmbeddingJobWorker.class);
+
+    private final EmbeddingJobDao jobDao;
+    private final WorkItemDao workItemDao;
+    private final WorkItemCommentDao commentDao;
+    private final EmbeddingService embeddingService;
+    private final EmbeddingJobProperties props;
+
+    private final String nodeId = ManagementFactory.getRuntimeMXBean().getName();
+    private final List<Thread> workers = new CopyOnWriteArrayList<>();
+    private final AtomicLong lastLeaseCheck = new AtomicLong();
+    private volatile boolean running;
+
+    public EmbeddingJobWorker(EmbeddingJobDao jobDao, WorkItemDao workItemDao, WorkItemCommentDao commentDao,
+                              EmbeddingService embeddingService, EmbeddingJobProperties props) {
+        this.jobDao = jobDao;
+        this.workItemDao = workItemDao;
+        this.commentDao = commentDao;
+        this.embeddingService = embeddingService;
+        this.props = props;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!props.enabled()) {
+            log.info("Embedding job workers are disabled on this node");
+            return;
+        }
+        running = true;
+        for (int i = 0; i < props.workers(); i++) {
+            String workerId = nodeId + "#" + i;
+            workers.add(Thread.ofVirtual().name("embedding-worker-" + i).start(() -> runLoop(workerId)));
+        }
+        log.info("Started {} embedding job workers on {}", props.workers(), nodeId);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+    }
+
+    private void runLoop(String workerId) {
+        while (running) {
+            try {
+                releaseExpiredLeases();
+                List<EmbeddingJob> jobs = jobDao.claim(workerId, props.claimBatchSize());
+                if (jobs.isEmpty()) {
+                    Thread.sleep(props.pollInterval().toMillis());
+                    continue;
+                }
+                process(workerId, jobs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.warn("Embedding worker {} failed to poll jobs: {}", workerId, e.getMessage());
+                try {
+                    Thread.sleep(props.pollInterval().toMillis());
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    // The claimed jobs are generated together so their summaries share one embeddings request
+    private void process(String workerId, List<EmbeddingJob> jobs) {
+        List<EmbeddingJob> pending = new ArrayList<>(jobs.size());
+        List<WorkItem> items = new ArrayList<>(jobs.size());
+        List<List<WorkItemComment>> comments = new ArrayList<>(jobs.size());
+        for (EmbeddingJob job : jobs) {
+            try {
+                WorkItem item = workItemDao.findById(job.workItemId(), job.syncConfigId());
+                if (item == null) {
+                    complete(workerId, job);
+                    continue;
+                }
+                comments.add(commentDao.findByWorkItemId(job.workItemId(), job.syncConfigId()));
+                items.add(item);
+                pending.add(job);
+            } catch (Exception e) {
+                fail(workerId, job, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+            }
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        EmbeddingBatchResult result;
+        try {
+            result = embeddingService.generateForWorkItems(items, comments, false);
+        } catch (Exception e) {
+            String error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            pending.forEach(job -> fail(workerId, job, error));
+            return;
+        }
+        if (result.skipped() > 0) {
+            log.debug("Skipped {} of {} embedding jobs with unchanged content", result.skipped(), pending.size());
+        }
+        for (int i = 0; i < pending.size(); i++) {
+            EmbeddingJob job = pending.get(i);
+            String error = result.errors().get(i);
+            if (error != null) {
+                fail(workerId, job, error);
+            } else {
+                complete(workerId, job);
+            }
+        }
+    }
+
+    private void complete(String workerId, EmbeddingJob job) {
+        if (jobDao.complete(job.workItemId(), job.syncConfigId(), job.version()) == 0) {
+            releaseSuperseded(workerId, job);
+        }
+    }
+
+    private void fail(String workerId, EmbeddingJob job, String error) {
+        int updated;
+        if (job.attempts() >= props.maxAttempts()) {
+            log.warn("Embedding job for work item {} failed {} times, moving to dead letter: {}",
+                    job.workItemId(), job.attempts(), error);
+            updated = jobDao.markDead(job.workItemId(), job.syncConfigId(), job.version(), error);
+        } else {
+            Duration backoff = backoff(job.attempts());
+            log.warn("Embedding job for work item {} failed (attempt {}), retrying in {}s: {}",
+                    job.workItemId(), job.attempts(), backoff.toSeconds(), error);
+            updated = jobDao.retry(job.workItemId(), job.syncConfigId(), job.version(),
+                    LocalDateTime.now().plus(backoff), error);
+        }
+        if (updated == 0) {
+            releaseSuperseded(workerId, job);
+        }
+    }
+
+    // The item was re-enqueued while this worker ran an older version; the job stayed RUNNING until now
+    private void releaseSuperseded(String workerId, EmbeddingJob job) {
+        if (jobDao.releaseSuperseded(job.workItemId(), job.syncConfigId(), job.version(), workerId) > 0) {
+            log.debug("Embedding job for work item {} changed while running, queued again", job.workItemId());
+        }
+    }
+
+    // Exponential backoff with +/-20% jitter so retries from several nodes do not line up
+    private Duration backoff(int attempts) {
+        long baseMillis = props.retryBackoff().toMillis() << Math.min(attempts - 1, 20);
+        long cappedMillis = Math.min(baseMillis, props.retryBackoffMax().toMillis());
+        double jitter = ThreadLocalRandom.current().nextDouble(0.8, 1.2);
+        return Duration.ofMillis((long) (cappedMillis * jitter));
+    }
+
+    // Jobs left RUNNING by a crashed or stalled node become claimable again once their lease runs out; the
+    // version bump makes whatever the stalled worker reports later a no-op
+    private void releaseExpiredLeases() {
+        long now = System.currentTimeMillis();
+        long last = lastLeaseCheck.get();
+        long checkEvery = Math.max(1000, props.lease().toMillis() / 2);
+        if (now - last < checkEvery || !lastLeaseCheck.compareAndSet(last, now)) {
+            return;
+        }
+        int released = jobDao.releaseExpired(LocalDateTime.now().minus(props.lease()));
+        if (released > 0) {
+            log.info("Released {} embedding jobs with expired leases", released);
+        }
+    }
+}
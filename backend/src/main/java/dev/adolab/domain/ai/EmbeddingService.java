@@ -4,14 +4,31 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.adolab.config.OpenAiProperties;
 import dev.adolab.domain.ai.dao.EmbeddingDao;
+import dev.adolab.domain.ai.dto.EmbeddingBatchResult;
+import dev.adolab.domain.ai.dto.EmbeddingHash;
+import dev.adolab.domain.ai.dto.GeneratedEmbedding;
 import dev.adolab.domain.workitem.entity.WorkItem;
 import dev.adolab.domain.workitem.entity.WorkItemComment;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import java.util.stream.Collectors;
 
 @Service
@@ -40,18 +57,175 @@ public class EmbeddingService {
     private final OpenAiProperties props;
     private final EmbeddingDao embeddingDao;
     private final ObjectMapper objectMapper;
+    private final QueryEmbeddingCache queryEmbeddingCache;
+    private final Counter generatedCounter;
+    private final Counter skippedCounter;
+    private final Counter failedCounter;
 
     public EmbeddingService(OpenAiClient openAiClient, OpenAiProperties props,
-                            EmbeddingDao embeddingDao, ObjectMapper objectMapper) {
+                            EmbeddingDao embeddingDao, ObjectMapper objectMapper,
+                            QueryEmbeddingCache queryEmbeddingCache, MeterRegistry meterRegistry) {
         this.openAiClient = openAiClient;
         this.props = props;
         this.embeddingDao = embeddingDao;
         this.objectMapper = objectMapper;
+        this.queryEmbeddingCache = queryEmbeddingCache;
+        this.generatedCounter = outcomeCounter(meterRegistry, "generated");
+        this.skippedCounter = outcomeCounter(meterRegistry, "skipped");
+        this.failedCounter = outcomeCounter(meterRegistry, "failed");
     }
 
-    public void generateForWorkItem(WorkItem item, List<WorkItemComment> comments) {
+    private static Counter outcomeCounter(MeterRegistry registry, String outcome) {
+        return Counter.builder("adolab.embedding.items")
+                .description("Work items processed for embeddings, by outcome")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    /**
+     * Generates and stores the embedding of one item unless the stored one was generated from the same input
+     * ({@code force} regenerates regardless). Returns false when generation was skipped.
+     */
+    public boolean generateForWorkItem(WorkItem item, List<WorkItemComment> comments, boolean force) {
         String context = buildContext(item, comments);
+        String contentHash = contentHash(context);
+        if (!force && contentHash.equals(storedHashes(item.syncConfigId(), List.of(item)).get(item.id()))) {
+            skippedCounter.increment();
+            return false;
+        }
+        try {
+            Summary summary = summarize(item, context, contentHash);
+            List<Double> embedding = openAiClient.generateEmbedding(summary.summaryEn());
+            store(item, summary.withEmbedding(vectorToString(embedding)));
+        } catch (RuntimeException e) {
+            failedCounter.increment();
+            throw e;
+        }
+        generatedCounter.increment();
+        return true;
+    }
+
+    /**
+     * Summarizes the items concurrently, at most {@code openai.worker-concurrency} at a time, and embeds all
+     * summaries with batched embedding requests, storing every item that succeeded. Items whose stored
+     * embedding has the same content hash are skipped unless {@code force} is set. {@code comments} is aligned
+     * with {@code items}. Failures are returned by position in {@code items} and do not affect the other items.
+     */
+    public EmbeddingBatchResult generateForWorkItems(List<WorkItem> items, List<List<WorkItemComment>> comments,
+                                                     boolean force) {
+        Map<Integer, String> errors = new LinkedHashMap<>();
+        List<String> contexts = new ArrayList<>(items.size());
+        List<String> hashes = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            String context = buildContext(items.get(i), comments.get(i));
+            contexts.add(context);
+            hashes.add(contentHash(context));
+        }
+        Map<Long, Map<Integer, String>> stored = new HashMap<>();
+        if (!force) {
+            Map<Long, List<WorkItem>> byConfig = new HashMap<>();
+            for (WorkItem item : items) {
+                byConfig.computeIfAbsent(item.syncConfigId(), k -> new ArrayList<>()).add(item);
+            }
+            byConfig.forEach((syncConfigId, configItems) -> stored.put(syncConfigId, storedHashes(syncConfigId, configItems)));
+        }
+
+        int skipped = 0;
+        List<Integer> pending = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            WorkItem item = items.get(i);
+            if (!force && hashes.get(i).equals(stored.get(item.syncConfigId()).get(item.id()))) {
+                skipped++;
+            } else {
+                pending.add(i);
+            }
+        }
+
+        // Summaries run concurrently; OpenAiRateLimiter paces them to the account's RPM and TPM limits
+        Summary[] results = new Summary[items.size()];
+        Map<Integer, String> failures = new ConcurrentHashMap<>();
+        Semaphore permits = new Semaphore(Math.max(1, props.workerConcurrency()));
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Integer position : pending) {
+                executor.submit(() -> {
+                    permits.acquireUninterruptibly();
+                    try {
+                        results[position] = summarize(items.get(position), contexts.get(position), hashes.get(position));
+                    } catch (Exception e) {
+                        failures.put(position, errorMessage(e));
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+        errors.putAll(new TreeMap<>(failures));
+
+        List<Integer> summarized = new ArrayList<>(pending.size());
+        List<Summary> summaries = new ArrayList<>(pending.size());
+        for (Integer position : pending) {
+            if (results[position] != null) {
+                summarized.add(position);
+                summaries.add(results[position]);
+            }
+        }
+
+        List<List<Double>> embeddings = summaries.isEmpty() ? List.of() : openAiClient.generateEmbeddings(
+                summaries.stream().map(Summary::summaryEn).toList());
+        int generated = 0;
+        for (int i = 0; i < summaries.size(); i++) {
+            int position = summarized.get(i);
+            if (embeddings.get(i) == null) {
+                errors.put(position, "Embedding request failed");
+                continue;
+            }
+            try {
+                store(items.get(position), summaries.get(i).withEmbedding(vectorToString(embeddings.get(i))));
+                generated++;
+            } catch (Exception e) {
+                errors.put(position, errorMessage(e));
+            }
+        }
 
+        generatedCounter.increment(generated);
+        skippedCounter.increment(skipped);
+        failedCounter.increment(errors.size());
+        return new EmbeddingBatchResult(generated, skipped, errors);
+    }
+
+    /** Items processed since startup by outcome: generated, skipped (content unchanged) and failed. */
+    public Map<String, Long> outcomeCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        counts.put("generated", (long) generatedCounter.count());
+        counts.put("skipped", (long) skippedCounter.count());
+        counts.put("failed", (long) failedCounter.count());
+        return counts;
+    }
+
+    private Map<Integer, String> storedHashes(Long syncConfigId, List<WorkItem> items) {
+        Integer[] ids = items.stream().map(WorkItem::id).toArray(Integer[]::new);
+        Map<Integer, String> hashes = new HashMap<>();
+        for (EmbeddingHash hash : embeddingDao.findContentHashes(syncConfigId, ids)) {
+            hashes.put(hash.workItemId(), hash.contentHash());
+        }
+        return hashes;
+    }
+
+    // Covers everything the stored embedding depends on: the prompt, both models and the summarizer input
+    private String contentHash(String context) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : new String[]{SUMMARIZE_SYSTEM_PROMPT, props.model(), props.embeddingModel(), context}) {
+                digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Summary summarize(WorkItem item, String context, String contentHash) {
         // Step 1: Generate English summary via LLM
         String llmResponse = openAiClient.chatCompletion(SUMMARIZE_SYSTEM_PROMPT, context);
 
@@ -80,22 +254,34 @@ public class EmbeddingService {
             summaryEn = llmResponse;
             keywords = new String[0];
         }
+        return new Summary(summaryEn, keywords, detectedLanguage, translationEn, contentHash);
+    }
 
-        // Step 2: Generate embedding from summary
-        List<Double> embedding = openAiClient.generateEmbedding(summaryEn);
-        String embeddingStr = vectorToString(embedding);
+    private static String errorMessage(Exception e) {
+        return e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+    }
 
-        // Step 3: Store in DB
-        embeddingDao.upsert(item.id(), item.syncConfigId(), summaryEn, keywords,
-                embeddingStr, props.embeddingModel(), detectedLanguage, translationEn);
+    public void store(WorkItem item, GeneratedEmbedding generated) {
+        embeddingDao.upsert(item.id(), item.syncConfigId(), generated.summaryEn(), generated.keywords(),
+                generated.embedding(), props.embeddingModel(), generated.detectedLanguage(),
+                generated.translationEn(), generated.contentHash());
 
         log.debug("Generated embedding for work item {} (lang={}, summary: {} chars, {} keywords, translation: {})",
-                item.id(), detectedLanguage, summaryEn.length(), keywords.length,
-                translationEn != null ? translationEn.length() + " chars" : "none");
+                item.id(), generated.detectedLanguage(), generated.summaryEn().length(), generated.keywords().length,
+                generated.translationEn() != null ? generated.translationEn().length() + " chars" : "none");
     }
 
     public String embedQuery(String query) {
-        List<Double> embedding = openAiClient.generateEmbedding(query);
+        // Embed the text the cache key is derived from, so every query that maps to the key gets the same vector
+        String normalized = QueryEmbeddingCache.normalize(query);
+        float[] embedding = queryEmbeddingCache.get(props.embeddingModel(), normalized, () -> {
+            List<Double> values = openAiClient.generateEmbedding(normalized);
+            float[] vector = new float[values.size()];
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] = values.get(i).floatValue();
+            }
+            return vector;
+        });
         return vectorToString(embedding);
     }
 
@@ -146,9 +332,29 @@ public class EmbeddingService {
                 .trim();
     }
 
+    static String vectorToString(float[] vector) {
+        StringBuilder sb = new StringBuilder(vector.length * 12).append('[');
+        for (int i = 0; i < vector.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(vector[i]);
+        }
+        return sb.append(']').toString();
+    }
+
     static String vectorToString(List<Double> vector) {
         return "[" + vector.stream()
                 .map(d -> String.valueOf(d.floatValue()))
                 .collect(Collectors.joining(",")) + "]";
     }
+
+    private record Summary(String summaryEn, String[] keywords, String detectedLanguage, String translationEn,
+                           String contentHash) {
+
+        GeneratedEmbedding withEmbedding(String embedding) {
+            return new GeneratedEmbedding(summaryEn, keywords, embedding, detectedLanguage, translationEn,
+                    contentHash);
+        }
+    }
 }
@@ -7,7 +7,10 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
+import org.springframework.web.client.HttpClientErrorException;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -16,12 +19,17 @@ public class OpenAiClient {
 
     private static final Logger log = LoggerFactory.getLogger(OpenAiClient.class);
 
+    // Completion budget reserved for a chat call until its usage is known; summaries stay well below it
+    private static final int EXPECTED_COMPLETION_TOKENS = 600;
+
     private final RestClient restClient;
     private final OpenAiProperties props;
+    private final OpenAiRateLimiter rateLimiter;
 
-    public OpenAiClient(RestClient openAiRestClient, OpenAiProperties props) {
+    public OpenAiClient(RestClient openAiRestClient, OpenAiProperties props, OpenAiRateLimiter rateLimiter) {
         this.restClient = openAiRestClient;
         this.props = props;
+        this.rateLimiter = rateLimiter;
     }
 
     public String chatCompletion(String systemPrompt, String userContent) {
@@ -36,12 +44,16 @@ public class OpenAiClient {
 
         log.debug("OpenAI chat request: model={}, userContent length={}", props.model(), userContent.length());
 
+        long estimatedTokens = estimateTokens(systemPrompt) + estimateTokens(userContent) + EXPECTED_COMPLETION_TOKENS;
         ChatResponse response = restClient.post()
                 .uri("/v1/chat/completions")
+                .attribute(OpenAiRateLimiter.ESTIMATED_TOKENS, estimatedTokens)
                 .contentType(MediaType.APPLICATION_JSON)
                 .body(request)
                 .retrieve()
                 .body(ChatResponse.class);
+        rateLimiter.settle(OpenAiRateLimiter.CallType.CHAT, estimatedTokens,
+                response != null && response.usage() != null ? response.usage().totalTokens() : null);
 
         if (response == null || response.choices() == null || response.choices().isEmpty()) {
             throw new RuntimeException("Empty response from OpenAI chat API");
@@ -60,12 +72,16 @@ public class OpenAiClient {
 
         log.debug("OpenAI embedding request: model={}, text length={}", props.embeddingModel(), text.length());
 
+        long estimatedTokens = estimateTokens(text);
         EmbeddingResponse response = restClient.post()
                 .uri("/v1/embeddings")
+                .attribute(OpenAiRateLimiter.ESTIMATED_TOKENS, estimatedTokens)
                 .contentType(MediaType.APPLICATION_JSON)
                 .body(request)
                 .retrieve()
                 .body(EmbeddingResponse.class);
+        rateLimiter.settle(OpenAiRateLimiter.CallType.EMBEDDINGS, estimatedTokens,
+                response != null && response.usage() != null ? response.usage().totalTokens() : null);
 
         if (response == null || response.data() == null || response.data().isEmpty()) {
             throw new RuntimeException("Empty response from OpenAI embeddings API");
@@ -76,6 +92,106 @@ public class OpenAiClient {
         return embedding;
     }
 
+    /**
+     * Embeds many texts with as few requests as possible. Inputs are packed in order into requests of at most
+     * {@code openai.embedding-batch-size} inputs and {@code openai.embedding-batch-tokens} estimated tokens,
+     * and results are matched back by {@code index}. A request rejected for its input (400, 413, 422) is split
+     * in half and retried until the offending input is isolated; the slot of an input rejected on its own is
+     * left null. Any other failure is rethrown so the caller retries the whole batch later.
+     */
+    public List<List<Double>> generateEmbeddings(List<String> texts) {
+        List<List<Double>> results = new ArrayList<>(texts.size());
+        for (int i = 0; i < texts.size(); i++) {
+            results.add(null);
+        }
+
+        int start = 0;
+        while (start < texts.size()) {
+            int end = start;
+            long tokens = 0;
+            while (end < texts.size() && end - start < props.embeddingBatchSize()) {
+                long textTokens = estimateTokens(texts.get(end));
+                if (end > start && tokens + textTokens > props.embeddingBatchTokens()) {
+                    break;
+                }
+                tokens += textTokens;
+                end++;
+            }
+            embedRange(texts, start, end, results);
+            start = end;
+        }
+        return results;
+    }
+
+    private void embedRange(List<String> texts, int start, int end, List<List<Double>> results) {
+        try {
+            List<List<Double>> embeddings = requestEmbeddings(texts.subList(start, end));
+            for (int i = 0; i < embeddings.size(); i++) {
+                results.set(start + i, embeddings.get(i));
+            }
+        } catch (HttpClientErrorException e) {
+            if (!isBadInput(e)) {
+                throw e;
+            }
+            if (end - start == 1) {
+                log.warn("OpenAI embedding failed for input {} ({} chars): {}", start, texts.get(start).length(),
+                        e.getMessage());
+                return;
+            }
+            int mid = (start + end) >>> 1;
+            log.debug("OpenAI embedding batch of {} inputs failed, splitting: {}", end - start, e.getMessage());
+            embedRange(texts, start, mid, results);
+            embedRange(texts, mid, end, results);
+        }
+    }
+
+    // Auth, rate limit and server errors say nothing about the inputs, splitting would only multiply them
+    private static boolean isBadInput(HttpClientErrorException e) {
+        int status = e.getStatusCode().value();
+        return status == 400 || status == 413 || status == 422;
+    }
+
+    private List<List<Double>> requestEmbeddings(List<String> texts) {
+        var request = Map.of(
+                "model", props.embeddingModel(),
+                "input", texts
+        );
+
+        log.debug("OpenAI embedding batch request: model={}, inputs={}", props.embeddingModel(), texts.size());
+
+        long estimatedTokens = texts.stream().mapToLong(OpenAiClient::estimateTokens).sum();
+        EmbeddingResponse response = restClient.post()
+                .uri("/v1/embeddings")
+                .attribute(OpenAiRateLimiter.ESTIMATED_TOKENS, estimatedTokens)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(request)
+                .retrieve()
+                .body(EmbeddingResponse.class);
+        rateLimiter.settle(OpenAiRateLimiter.CallType.EMBEDDINGS, estimatedTokens,
+                response != null && response.usage() != null ? response.usage().totalTokens() : null);
+
+        if (response == null || response.data() == null) {
+            throw new IllegalStateException("Empty response from OpenAI embeddings API");
+        }
+        List<List<Double>> byIndex = new ArrayList<>(Collections.nCopies(texts.size(), null));
+        for (EmbeddingData data : response.data()) {
+            if (data.index() >= 0 && data.index() < byIndex.size()) {
+                byIndex.set(data.index(), data.embedding());
+            }
+        }
+        for (int i = 0; i < byIndex.size(); i++) {
+            if (byIndex.get(i) == null) {
+                throw new IllegalStateException("OpenAI embeddings response is missing index " + i);
+            }
+        }
+        return byIndex;
+    }
+
+    // Roughly four characters per token for English text; only used to size batches and rate budgets
+    static long estimateTokens(String text) {
+        return text.length() / 4 + 1;
+    }
+
     // --- DTOs ---
 
     record ChatRequest(String model, List<ChatMessage> messages, double temperature) {}
@@ -95,7 +211,7 @@ public class OpenAiClient {
             @JsonProperty("total_tokens") int totalTokens
     ) {}
 
-    record EmbeddingResponse(List<EmbeddingData> data) {}
+    record EmbeddingResponse(List<EmbeddingData> data, Usage usage) {}
 
     record EmbeddingData(List<Double> embedding, int index) {}
 }
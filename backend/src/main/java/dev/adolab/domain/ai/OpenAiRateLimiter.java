@@ -0,0 +1,117 @@
+package dev.adolab.domain.ai;
+
+import dev.adolab.config.OpenAiProperties;
+import dev.adolab.transport.http.RequestBudget;
+import dev.adolab.transport.http.TokenBucket;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpRequest;
+import org.springframework.stereotype.Component;
+
+import java.io.InterruptedIOException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps OpenAI calls of this instance within the account's requests-per-minute and tokens-per-minute limits,
+ * which OpenAI enforces per model: chat and embeddings each have their own pair of buckets and settings.
+ * <p>
+ * The limiter is the {@link RequestBudget} of the OpenAI client's {@code ThrottlingRetryInterceptor}, so
+ * every attempt, retries included, reserves one request and the estimated tokens that the caller put on
+ * the request as {@link #ESTIMATED_TOKENS}, and waits until both buckets cover the reservation. Attempts that
+ * fail or are rejected get their tokens back; once a successful response reports its {@code usage}, the
+ * caller settles the difference to the estimate. A limit of 0 disables that bucket.
+ */
+@Component
+public class OpenAiRateLimiter implements RequestBudget {
+
+    /** Request attribute carrying the estimated token cost of a call, a {@link Long}. */
+    public static final String ESTIMATED_TOKENS = OpenAiRateLimiter.class.getName() + ".estimatedTokens";
+
+    public enum CallType { CHAT, EMBEDDINGS }
+
+    private final Map<CallType, Budget> budgets = new EnumMap<>(CallType.class);
+
+    public OpenAiRateLimiter(OpenAiProperties props, MeterRegistry meterRegistry) {
+        budgets.put(CallType.CHAT, new Budget(CallType.CHAT,
+                props.chatRequestsPerMinute(), props.chatTokensPerMinute(), meterRegistry));
+        budgets.put(CallType.EMBEDDINGS, new Budget(CallType.EMBEDDINGS,
+                props.embeddingRequestsPerMinute(), props.embeddingTokensPerMinute(), meterRegistry));
+    }
+
+    @Override
+    public Charge charge(HttpRequest request) throws InterruptedIOException {
+        Budget budget = budgets.get(callType(request.getURI().getPath()));
+        long estimatedTokens = request.getAttributes().get(ESTIMATED_TOKENS) instanceof Long tokens ? tokens : 0;
+        long charged = budget.charged(estimatedTokens);
+        budget.acquire(charged);
+        return () -> budget.refund(charged);
+    }
+
+    /** Corrects the token bucket with the usage reported by the response; null leaves the estimate in place. */
+    public void settle(CallType type, long estimatedTokens, Integer actualTokens) {
+        if (actualTokens != null) {
+            Budget budget = budgets.get(type);
+            budget.refund(budget.charged(estimatedTokens) - actualTokens);
+        }
+    }
+
+    static CallType callType(String path) {
+        return path != null && path.endsWith("/embeddings") ? CallType.EMBEDDINGS : CallType.CHAT;
+    }
+
+    private static final class Budget {
+
+        private final TokenBucket requests;
+        private final TokenBucket tokens;
+        private final Timer waitTimer;
+
+        Budget(CallType type, int requestsPerMinute, int tokensPerMinute, MeterRegistry meterRegistry) {
+            String tag = type.name().toLowerCase(Locale.ROOT);
+            this.requests = requestsPerMinute > 0 ? new TokenBucket(requestsPerMinute) : null;
+            this.tokens = tokensPerMinute > 0 ? new TokenBucket(tokensPerMinute) : null;
+            this.waitTimer = Timer.builder("adolab.openai.ratelimit.wait")
+                    .description("Time OpenAI calls waited for request and token budget")
+                    .tag("type", tag)
+                    .register(meterRegistry);
+            if (tokens != null) {
+                Gauge.builder("adolab.openai.ratelimit.tokens.available", tokens, TokenBucket::available)
+                        .tag("type", tag)
+                        .register(meterRegistry);
+            }
+        }
+
+        // Estimates above the bucket's capacity are only charged the capacity
+        long charged(long estimatedTokens) {
+            return tokens != null ? tokens.capped(estimatedTokens) : estimatedTokens;
+        }
+
+        void acquire(long estimatedTokens) throws InterruptedIOException {
+            long waitNanos = 0;
+            if (requests != null) {
+                waitNanos = requests.reserve(1);
+            }
+            if (tokens != null) {
+                waitNanos = Math.max(waitNanos, tokens.reserve(estimatedTokens));
+            }
+            waitTimer.record(waitNanos, TimeUnit.NANOSECONDS);
+            if (waitNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(waitNanos);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for OpenAI rate limit");
+                }
+            }
+        }
+
+        void refund(long tokenDelta) {
+            if (tokens != null && tokenDelta != 0) {
+                tokens.adjust(tokenDelta);
+            }
+        }
+    }
+}
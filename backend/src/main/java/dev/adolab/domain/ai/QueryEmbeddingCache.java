@@ -0,0 +1,184 @@
+package dev.adolab.domain.ai;
+
+import dev.adolab.config.SearchCacheProperties;
+import dev.adolab.domain.ai.dto.QueryEmbeddingCacheStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Query embeddings keyed by embedding model and normalized query text, in two tiers: a per-instance LRU
+ * and Redis, shared by all instances. Redis holds the vector as raw little-endian float32 bytes, written
+ * through the connection rather than the JSON value serializer, so a 1536-dimension vector takes 6 KB.
+ * Redis failures are logged and treated as misses.
+ */
+@Component
+public class QueryEmbeddingCache {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryEmbeddingCache.class);
+
+    private static final String KEY_PREFIX = "search:embedding:";
+
+    private final SearchCacheProperties props;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final Map<String, float[]> entries;
+
+    private final AtomicLong evictions = new AtomicLong();
+    private final Counter localHits;
+    private final Counter redisHits;
+    private final Counter misses;
+    private final MeterRegistry meterRegistry;
+
+    public QueryEmbeddingCache(SearchCacheProperties props, RedisTemplate<String, Object> redisTemplate,
+                               MeterRegistry meterRegistry) {
+        this.props = props;
+        this.redisTemplate = redisTemplate;
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, float[]> eldest) {
+                if (size() > props.embeddingMaxEntries()) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.localHits = lookupCounter(meterRegistry, "local");
+        this.redisHits = lookupCounter(meterRegistry, "redis");
+        this.misses = lookupCounter(meterRegistry, "miss");
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Registered once constructed, so the gauge never sees a partially initialized cache
+    @PostConstruct
+    void registerHitRatio() {
+        Gauge.builder("adolab.search.embedding.cache.hit.ratio", this, cache -> cache.stats().hitRate())
+                .register(meterRegistry);
+    }
+
+    private static Counter lookupCounter(MeterRegistry registry, String result) {
+        return Counter.builder("adolab.search.embedding.cache")
+                .description("Query embedding lookups by the tier that answered them")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /** Returns the cached embedding of {@code query} or computes, caches and returns it. */
+    public float[] get(String model, String query, Supplier<float[]> compute) {
+        if (!props.enabled()) {
+            return compute.get();
+        }
+        String key = key(model, query);
+        float[] vector;
+        synchronized (entries) {
+            vector = entries.get(key);
+        }
+        if (vector != null) {
+            localHits.increment();
+            return vector;
+        }
+
+        vector = readRedis(key);
+        if (vector != null) {
+            redisHits.increment();
+        } else {
+            misses.increment();
+            vector = compute.get();
+            writeRedis(key, vector);
+        }
+        synchronized (entries) {
+            entries.put(key, vector);
+        }
+        return vector;
+    }
+
+    public QueryEmbeddingCacheStats stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        long hits = (long) (localHits.count() + redisHits.count());
+        long total = hits + (long) misses.count();
+        return new QueryEmbeddingCacheStats(size, (long) localHits.count(), (long) redisHits.count(),
+                (long) misses.count(), evictions.get(), total == 0 ? 0 : (double) hits / total);
+    }
+
+    private float[] readRedis(String key) {
+        if (!props.redisEnabled()) {
+            return null;
+        }
+        try {
+            byte[] bytes = redisTemplate.execute((RedisCallback<byte[]>) connection ->
+                    connection.stringCommands().get(key.getBytes(StandardCharsets.UTF_8)));
+            return bytes != null ? decode(bytes) : null;
+        } catch (RuntimeException e) {
+            log.warn("Failed to read query embedding from Redis: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeRedis(String key, float[] vector) {
+        if (!props.redisEnabled()) {
+            return;
+        }
+        try {
+            byte[] bytes = encode(vector);
+            redisTemplate.execute((RedisCallback<Boolean>) connection -> connection.stringCommands().set(
+                    key.getBytes(StandardCharsets.UTF_8), bytes, Expiration.from(props.embeddingTtl()),
+                    RedisStringCommands.SetOption.UPSERT));
+        } catch (RuntimeException e) {
+            log.warn("Failed to write query embedding to Redis: {}", e.getMessage());
+        }
+    }
+
+    // Case, Unicode form and whitespace do not change what the user asked for
+    static String normalize(String query) {
+        return Normalizer.normalize(query, Normalizer.Form.NFKC)
+                .toLowerCase(Locale.ROOT)
+                .replaceAll("\\s+", " ")
+                .trim();
+    }
+
+    private static String key(String model, String query) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(normalize(query).getBytes(StandardCharsets.UTF_8));
+            return KEY_PREFIX + model + ":" + HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static byte[] encode(float[] vector) {
+        ByteBuffer buffer = ByteBuffer.allocate(vector.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asFloatBuffer().put(vector);
+        return buffer.array();
+    }
+
+    static float[] decode(byte[] bytes) {
+        float[] vector = new float[bytes.length / Float.BYTES];
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(vector);
+        return vector;
+    }
+}
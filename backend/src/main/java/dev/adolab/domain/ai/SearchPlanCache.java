@@ -0,0 +1,220 @@
+package dev.adolab.domain.ai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.adolab.config.SearchCacheProperties;
+import dev.adolab.domain.ai.dto.SearchPlan;
+import dev.adolab.domain.ai.dto.SearchPlanCacheStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Search plans keyed by planner model, the day the plan was made for and the normalized query, since the
+ * planner resolves relative dates against "today". Plans live in a per-instance LRU and in Redis for
+ * {@code search.cache.plan-ttl}. Concurrent requests for the same key on one instance share a single planner
+ * call. A null plan (the planner answer could not be parsed) is returned to all waiters but not cached.
+ * <p>
+ * {@link #invalidate()} clears the local tier and the Redis tier; other instances drop their local copies
+ * when those expire.
+ */
+@Component
+public class SearchPlanCache {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchPlanCache.class);
+
+    private static final String KEY_PREFIX = "search:plan:";
+
+    private final SearchCacheProperties props;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Entry> entries;
+    private final Map<String, CompletableFuture<SearchPlan>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter localHits;
+    private final Counter redisHits;
+    private final Counter coalesced;
+    private final Counter misses;
+
+    public SearchPlanCache(SearchCacheProperties props, RedisTemplate<String, Object> redisTemplate,
+                           ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.props = props;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > props.planMaxEntries();
+            }
+        };
+        this.localHits = lookupCounter(meterRegistry, "local");
+        this.redisHits = lookupCounter(meterRegistry, "redis");
+        this.coalesced = lookupCounter(meterRegistry, "coalesced");
+        this.misses = lookupCounter(meterRegistry, "miss");
+    }
+
+    private static Counter lookupCounter(MeterRegistry registry, String result) {
+        return Counter.builder("adolab.search.plan.cache")
+                .description("Search plan lookups by how they were answered")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /** Returns the cached plan for {@code query} on {@code today}, or runs {@code planner} once for all callers. */
+    public SearchPlan get(String model, String query, LocalDate today, Supplier<SearchPlan> planner) {
+        if (!props.enabled()) {
+            return planner.get();
+        }
+        String key = key(model, query, today);
+        SearchPlan plan = getLocal(key);
+        if (plan != null) {
+            localHits.increment();
+            return plan;
+        }
+
+        CompletableFuture<SearchPlan> created = new CompletableFuture<>();
+        CompletableFuture<SearchPlan> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            coalesced.increment();
+            return join(existing);
+        }
+        try {
+            created.complete(load(key, planner));
+        } catch (RuntimeException e) {
+            created.completeExceptionally(e);
+        } finally {
+            inFlight.remove(key, created);
+        }
+        return join(created);
+    }
+
+    public void invalidate() {
+        synchronized (entries) {
+            entries.clear();
+        }
+        if (!props.redisEnabled()) {
+            return;
+        }
+        try {
+            List<String> keys = new ArrayList<>();
+            try (Cursor<String> cursor = redisTemplate.scan(
+                    ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(500).build())) {
+                cursor.forEachRemaining(keys::add);
+            }
+            if (!keys.isEmpty()) {
+                redisTemplate.delete(keys);
+            }
+            log.info("Invalidated {} cached search plans in Redis", keys.size());
+        } catch (RuntimeException e) {
+            log.warn("Failed to invalidate search plans in Redis: {}", e.getMessage());
+        }
+    }
+
+    public SearchPlanCacheStats stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        long hits = (long) (localHits.count() + redisHits.count() + coalesced.count());
+        long total = hits + (long) misses.count();
+        return new SearchPlanCacheStats(size, (long) localHits.count(), (long) redisHits.count(),
+                (long) coalesced.count(), (long) misses.count(), total == 0 ? 0 : (double) hits / total);
+    }
+
+    private SearchPlan load(String key, Supplier<SearchPlan> planner) {
+        SearchPlan plan = readRedis(key);
+        if (plan != null) {
+            redisHits.increment();
+        } else {
+            misses.increment();
+            plan = planner.get();
+            if (plan == null) {
+                return null;
+            }
+            writeRedis(key, plan);
+        }
+        synchronized (entries) {
+            entries.put(key, new Entry(plan, System.nanoTime() + props.planTtl().toNanos()));
+        }
+        return plan;
+    }
+
+    private SearchPlan getLocal(String key) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (System.nanoTime() - entry.expiresAt() > 0) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.plan();
+        }
+    }
+
+    private SearchPlan readRedis(String key) {
+        if (!props.redisEnabled()) {
+            return null;
+        }
+        try {
+            Object value = redisTemplate.opsForValue().get(key);
+            return value != null ? objectMapper.convertValue(value, SearchPlan.class) : null;
+        } catch (RuntimeException e) {
+            log.warn("Failed to read search plan from Redis: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeRedis(String key, SearchPlan plan) {
+        if (!props.redisEnabled()) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(key, plan, props.planTtl());
+        } catch (RuntimeException e) {
+            log.warn("Failed to write search plan to Redis: {}", e.getMessage());
+        }
+    }
+
+    private static String key(String model, String query, LocalDate today) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(QueryEmbeddingCache.normalize(query).getBytes(StandardCharsets.UTF_8));
+            return KEY_PREFIX + model + ":" + today + ":" + HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static SearchPlan join(CompletableFuture<SearchPlan> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw e;
+        }
+    }
+
+    private record Entry(SearchPlan plan, long expiresAt) {}
+}
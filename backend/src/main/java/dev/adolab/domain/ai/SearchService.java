@@ -1,6 +1,7 @@
 package dev.adolab.domain.ai;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.adolab.config.OpenAiProperties;
 import dev.adolab.domain.ai.dao.EmbeddingDao;
 import dev.adolab.domain.ai.dto.SearchPlan;
 import dev.adolab.domain.ai.dto.SmartSearchResult;
@@ -9,6 +10,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -63,28 +65,27 @@ public class SearchService {
     private final EmbeddingService embeddingService;
     private final EmbeddingDao embeddingDao;
     private final ObjectMapper objectMapper;
+    private final SearchPlanCache planCache;
+    private final OpenAiProperties props;
 
     public SearchService(OpenAiClient openAiClient, EmbeddingService embeddingService,
-                         EmbeddingDao embeddingDao, ObjectMapper objectMapper) {
+                         EmbeddingDao embeddingDao, ObjectMapper objectMapper,
+                         SearchPlanCache planCache, OpenAiProperties props) {
         this.openAiClient = openAiClient;
         this.embeddingService = embeddingService;
         this.embeddingDao = embeddingDao;
         this.objectMapper = objectMapper;
+        this.planCache = planCache;
+        this.props = props;
     }
 
     public SmartSearchResult smartSearch(String query, Long syncConfigId) {
         log.info("Smart search: '{}'", query);
 
-        // Step 1: Query planning
-        String today = java.time.LocalDate.now().toString();
-        String plannerInput = "Today's date: " + today + "\nUser query: " + query;
-        String planResponse = openAiClient.chatCompletion(QUERY_PLANNER_SYSTEM_PROMPT, plannerInput);
-
-        SearchPlan plan;
-        try {
-            plan = objectMapper.readValue(planResponse, SearchPlan.class);
-        } catch (Exception e) {
-            log.warn("Failed to parse search plan: {}", planResponse, e);
+        // Step 1: Query planning, shared by identical queries made on the same day
+        LocalDate today = LocalDate.now();
+        SearchPlan plan = planCache.get(props.model(), query, today, () -> plan(query, today));
+        if (plan == null) {
             return SmartSearchResult.list(List.of(), "Failed to understand query");
         }
 
@@ -125,6 +126,17 @@ public class SearchService {
         return SmartSearchResult.list(items, plan.explanation());
     }
 
+    private SearchPlan plan(String query, LocalDate today) {
+        String plannerInput = "Today's date: " + today + "\nUser query: " + query;
+        String planResponse = openAiClient.chatCompletion(QUERY_PLANNER_SYSTEM_PROMPT, plannerInput);
+        try {
+            return objectMapper.readValue(planResponse, SearchPlan.class);
+        } catch (Exception e) {
+            log.warn("Failed to parse search plan: {}", planResponse, e);
+            return null;
+        }
+    }
+
     private String generateNarrative(String userQuery, List<WorkItem> items) {
         StringBuilder context = new StringBuilder();
         context.append("User question: ").append(userQuery).append("\n\n");
@@ -1,5 +1,6 @@
 package dev.adolab.domain.ai.dao;
 
+import dev.adolab.domain.ai.dto.EmbeddingHash;
 import dev.adolab.domain.ai.dto.EmbeddingSummary;
 import dev.adolab.domain.workitem.entity.WorkItem;
 import org.apache.ibatis.annotations.Mapper;
@@ -20,7 +21,11 @@ public interface EmbeddingDao {
                 @Param("embedding") String embedding,
                 @Param("modelVersion") String modelVersion,
                 @Param("detectedLanguage") String detectedLanguage,
-                @Param("translationEn") String translationEn);
+                @Param("translationEn") String translationEn,
+                @Param("contentHash") String contentHash);
+
+    List<EmbeddingHash> findContentHashes(@Param("syncConfigId") Long syncConfigId,
+                                          @Param("workItemIds") Integer[] workItemIds);
 
     List<WorkItem> findBySimilarity(@Param("syncConfigId") Long syncConfigId,
                                     @Param("queryEmbedding") String queryEmbedding,
@@ -0,0 +1,42 @@
+package dev.adolab.domain.ai.dao;
+
+import dev.adolab.domain.ai.dto.EmbeddingJob;
+import dev.adolab.domain.workitem.entity.WorkItem;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Mapper
+public interface EmbeddingJobDao {
+
+    int enqueue(@Param("items") List<WorkItem> items);
+
+    List<EmbeddingJob> claim(@Param("workerId") String workerId, @Param("limit") int limit);
+
+    int complete(@Param("workItemId") Integer workItemId,
+                 @Param("syncConfigId") Long syncConfigId,
+                 @Param("version") Integer version);
+
+    int retry(@Param("workItemId") Integer workItemId,
+              @Param("syncConfigId") Long syncConfigId,
+              @Param("version") Integer version,
+              @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+              @Param("error") String error);
+
+    int markDead(@Param("workItemId") Integer workItemId,
+                 @Param("syncConfigId") Long syncConfigId,
+                 @Param("version") Integer version,
+                 @Param("error") String error);
+
+    int releaseSuperseded(@Param("workItemId") Integer workItemId,
+                          @Param("syncConfigId") Long syncConfigId,
+                          @Param("version") Integer version,
+                          @Param("workerId") String workerId);
+
+    int releaseExpired(@Param("lockedBefore") LocalDateTime lockedBefore);
+
+    List<Map<String, Object>> countByStatus(@Param("syncConfigId") Long syncConfigId);
+}
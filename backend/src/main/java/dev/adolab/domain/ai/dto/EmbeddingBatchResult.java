@@ -0,0 +1,13 @@
+package dev.adolab.domain.ai.dto;
+
+import java.util.Map;
+
+/**
+ * Outcome of a batched generation. {@code skipped} counts items whose stored embedding was generated from the
+ * same content; {@code errors} maps the position of each failed item in the input list to its error message.
+ */
+public record EmbeddingBatchResult(
+        int generated,
+        int skipped,
+        Map<Integer, String> errors
+) {}
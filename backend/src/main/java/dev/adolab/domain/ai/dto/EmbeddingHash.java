@@ -0,0 +1,6 @@
+package dev.adolab.domain.ai.dto;
+
+public record EmbeddingHash(
+        Integer workItemId,
+        String contentHash
+) {}
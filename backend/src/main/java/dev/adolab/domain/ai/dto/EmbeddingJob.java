@@ -0,0 +1,8 @@
+package dev.adolab.domain.ai.dto;
+
+public record EmbeddingJob(
+        Integer workItemId,
+        Long syncConfigId,
+        Integer version,
+        Integer attempts
+) {}
@@ -0,0 +1,10 @@
+package dev.adolab.domain.ai.dto;
+
+public record GeneratedEmbedding(
+        String summaryEn,
+        String[] keywords,
+        String embedding,
+        String detectedLanguage,
+        String translationEn,
+        String contentHash
+) {}
@@ -0,0 +1,10 @@
+package dev.adolab.domain.ai.dto;
+
+public record QueryEmbeddingCacheStats(
+        int entries,
+        long localHits,
+        long redisHits,
+        long misses,
+        long evictions,
+        double hitRate
+) {}
@@ -0,0 +1,10 @@
+package dev.adolab.domain.ai.dto;
+
+public record SearchPlanCacheStats(
+        int entries,
+        long localHits,
+        long redisHits,
+        long coalesced,
+        long misses,
+        double hitRate
+) {}
@@ -1,18 +1,26 @@
 package dev.adolab.domain.azure;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.adolab.config.AzureDevOpsProperties;
 import dev.adolab.domain.azure.dto.AzureCommentListResponse;
+import dev.adolab.domain.azure.dto.AzureRevisionBatchResponse;
 import dev.adolab.domain.azure.dto.AzureWiqlResponse;
+import dev.adolab.domain.azure.dto.AzureWorkItemRecord;
 import dev.adolab.domain.azure.dto.AzureWorkItemResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Component
@@ -22,12 +30,24 @@ public class AzureDevOpsClient {
 
     private final RestClient restClient;
     private final AzureDevOpsProperties props;
+    private final AzureWorkItemDecoder decoder;
+    private final AzureResponseCache responseCache;
+    private final ObjectMapper objectMapper;
+
+    public static final int WIQL_MAX_RESULTS = 20000;
+    public static final int COMMENT_PAGE_SIZE = 200;
 
     private static final int BATCH_SIZE = 200;
+    private static final List<String> LIGHTWEIGHT_FIELDS = List.of("System.Id", "System.Watermark", "System.CommentCount");
 
-    public AzureDevOpsClient(RestClient azureDevOpsRestClient, AzureDevOpsProperties props) {
+    public AzureDevOpsClient(RestClient azureDevOpsRestClient, AzureDevOpsProperties props,
+                             AzureWorkItemDecoder decoder, AzureResponseCache responseCache,
+                             ObjectMapper objectMapper) {
         this.restClient = azureDevOpsRestClient;
         this.props = props;
+        this.decoder = decoder;
+        this.responseCache = responseCache;
+        this.objectMapper = objectMapper;
     }
 
     public AzureWorkItemResponse getWorkItem(String org, String project, int id) {
@@ -47,49 +67,100 @@ public class AzureDevOpsClient {
 
     public List<AzureWorkItemResponse> getWorkItems(String org, String project,
                                                      List<Integer> ids, List<String> fields) {
+        List<AzureWorkItemResponse> allItems = new ArrayList<>();
+        forEachWorkItemBatch(org, project, ids, fields, allItems::addAll);
+        return allItems;
+    }
+
+    public void forEachWorkItemBatch(String org, String project, List<Integer> ids,
+                                     Consumer<List<AzureWorkItemResponse>> batchConsumer) {
+        forEachWorkItemBatch(org, project, ids, null, batchConsumer);
+    }
+
+    public void forEachWorkItemBatch(String org, String project, List<Integer> ids, List<String> fields,
+                                     Consumer<List<AzureWorkItemResponse>> batchConsumer) {
         if (ids == null || ids.isEmpty()) {
-            return List.of();
+            return;
         }
 
-        List<AzureWorkItemResponse> allItems = new ArrayList<>();
         for (int i = 0; i < ids.size(); i += BATCH_SIZE) {
             List<Integer> batch = ids.subList(i, Math.min(i + BATCH_SIZE, ids.size()));
-            String idsParam = batch.stream()
-                    .map(String::valueOf)
-                    .collect(Collectors.joining(","));
-
-            StringBuilder url = new StringBuilder();
-            url.append(props.workItemsUrl(org, project));
-            url.append("?ids=").append(idsParam);
-            if (fields != null && !fields.isEmpty()) {
-                url.append("&fields=").append(String.join(",", fields));
-            } else {
-                url.append("&$expand=relations");
-            }
-            url.append("&api-version=").append(props.apiVersion());
-
+            String url = workItemsBatchUrl(org, project, batch, fields);
             log.debug("GET work items batch ({} items): {}", batch.size(), url);
 
             var response = restClient.get()
-                    .uri(url.toString())
+                    .uri(url)
                     .retrieve()
                     .body(BatchResponse.class);
 
-            if (response != null && response.value() != null) {
-                allItems.addAll(response.value());
+            if (response != null && response.value() != null && !response.value().isEmpty()) {
+                batchConsumer.accept(response.value());
             }
         }
-        return allItems;
+    }
+
+    /**
+     * Full work item batches decoded by {@link AzureWorkItemDecoder} instead of a generic field map.
+     */
+    public void forEachWorkItemRecordBatch(String org, String project, List<Integer> ids,
+                                           Consumer<List<AzureWorkItemRecord>> batchConsumer) {
+        if (ids == null || ids.isEmpty()) {
+            return;
+        }
+
+        for (int i = 0; i < ids.size(); i += BATCH_SIZE) {
+            List<Integer> batch = ids.subList(i, Math.min(i + BATCH_SIZE, ids.size()));
+            String url = workItemsBatchUrl(org, project, batch, null);
+            log.debug("GET work items batch ({} items): {}", batch.size(), url);
+
+            byte[] body = restClient.get()
+                    .uri(url)
+                    .retrieve()
+                    .body(byte[].class);
+
+            List<AzureWorkItemRecord> records = decoder.decodeBatch(body);
+            if (!records.isEmpty()) {
+                batchConsumer.accept(records);
+            }
+        }
+    }
+
+    private String workItemsBatchUrl(String org, String project, List<Integer> batch, List<String> fields) {
+        String idsParam = batch.stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+
+        StringBuilder url = new StringBuilder();
+        url.append(props.workItemsUrl(org, project));
+        url.append("?ids=").append(idsParam);
+        if (fields != null && !fields.isEmpty()) {
+            url.append("&fields=").append(String.join(",", fields));
+        } else {
+            url.append("&$expand=relations");
+        }
+        url.append("&api-version=").append(props.apiVersion());
+        return url.toString();
     }
 
     public List<AzureWorkItemResponse> getWorkItemsLightweight(String org, String project,
                                                                 List<Integer> ids) {
-        return getWorkItems(org, project, ids, List.of("System.Id", "System.Watermark"));
+        return getWorkItems(org, project, ids, LIGHTWEIGHT_FIELDS);
+    }
+
+    public void forEachWorkItemLightweightBatch(String org, String project, List<Integer> ids,
+                                                Consumer<List<AzureWorkItemResponse>> batchConsumer) {
+        forEachWorkItemBatch(org, project, ids, LIGHTWEIGHT_FIELDS, batchConsumer);
     }
 
     public AzureWiqlResponse queryWiql(String org, String project, String wiql) {
+        return queryWiql(org, project, wiql, false);
+    }
+
+    public AzureWiqlResponse queryWiql(String org, String project, String wiql, boolean timePrecision) {
         String url = props.wiqlUrl(org, project)
-                + "?$top=20000&api-version=" + props.apiVersion();
+                + "?$top=" + WIQL_MAX_RESULTS
+                + (timePrecision ? "&timePrecision=true" : "")
+                + "&api-version=" + props.apiVersion();
 
         log.debug("POST WIQL: {}", wiql);
         return restClient.post()
@@ -114,15 +185,180 @@ public class AzureDevOpsClient {
     }
 
     public AzureCommentListResponse getWorkItemComments(String org, String project, int workItemId) {
+        List<AzureCommentListResponse.AzureComment> comments = new ArrayList<>();
+        int totalCount = 0;
+        String continuationToken = null;
+        do {
+            AzureCommentListResponse page = getWorkItemCommentsPage(org, project, workItemId, continuationToken);
+            if (page == null) {
+                break;
+            }
+            totalCount = page.totalCount();
+            if (page.comments() != null) {
+                comments.addAll(page.comments());
+            }
+            continuationToken = page.continuationToken();
+        } while (continuationToken != null && !continuationToken.isBlank());
+
+        return new AzureCommentListResponse(totalCount, comments.size(), comments, null);
+    }
+
+    /**
+     * Whole comment thread of a work item, revalidated against the validator stored under
+     * {@code cacheScope}. With {@code allowUnchanged} set, a {@code 304} or a body identical to the cached
+     * one comes back as {@link CommentThread#unchanged()} without parsing anything.
+     * <p>
+     * The new validator is not stored here but returned in {@link CommentThread#validator()}, so callers
+     * can remember it only once the comments are safely persisted. Threads spanning several pages and
+     * calls without a {@code cacheScope} are never cached.
+     */
+    public CommentThread getWorkItemCommentThread(String org, String project, int workItemId,
+                                                  String cacheScope, boolean allowUnchanged) {
+        if (cacheScope == null) {
+            return new CommentThread(false, getWorkItemComments(org, project, workItemId).comments(), null);
+        }
+
+        String cacheKey = "comments:" + cacheScope + ":" + org + "/" + project + ":" + workItemId;
+        AzureResponseCache.Entry cached = allowUnchanged ? responseCache.get(cacheKey) : null;
+
+        log.debug("GET comments for work item {} (conditional={})", workItemId, cached != null);
+        ResponseEntity<byte[]> response = conditionalGet(commentsPageUrl(org, project, workItemId), cached);
+        if (isNotModified(response) && cached != null) {
+            responseCache.recordNotModified();
+            return new CommentThread(true, List.of(), null);
+        }
+
+        byte[] body = response.getBody();
+        if (body == null) {
+            return new CommentThread(false, List.of(), null);
+        }
+        String etag = response.getHeaders().getETag();
+        byte[] digest = AzureResponseCache.digest(body);
+        AzureResponseCache.Pending validator = new AzureResponseCache.Pending(cacheKey,
+                new AzureResponseCache.Entry(etag, digest));
+        if (cached != null && Arrays.equals(cached.digest(), digest)) {
+            responseCache.recordUnchangedBody();
+            return new CommentThread(true, List.of(), validator);
+        }
+        if (allowUnchanged) {
+            responseCache.recordMiss();
+        }
+
+        AzureCommentListResponse page = readJson(body, AzureCommentListResponse.class);
+        List<AzureCommentListResponse.AzureComment> comments = new ArrayList<>();
+        if (page.comments() != null) {
+            comments.addAll(page.comments());
+        }
+        String continuationToken = page.continuationToken();
+        if (continuationToken == null || continuationToken.isBlank()) {
+            return new CommentThread(false, comments, validator);
+        }
+        do {
+            AzureCommentListResponse next = getWorkItemCommentsPage(org, project, workItemId, continuationToken);
+            if (next == null) {
+                break;
+            }
+            if (next.comments() != null) {
+                comments.addAll(next.comments());
+            }
+            continuationToken = next.continuationToken();
+        } while (continuationToken != null && !continuationToken.isBlank());
+        return new CommentThread(false, comments, null);
+    }
+
+    /**
+     * Newest {@code count} comments of a work item, newest first. Used when only comments added since the
+     * last sync are needed.
+     */
+    public List<AzureCommentListResponse.AzureComment> getLatestWorkItemComments(String org, String project,
+                                                                              int workItemId, int count) {
         String url = props.workItemCommentsUrl(org, project, workItemId)
-                + "?api-version=" + props.apiVersion() + "-preview.4";
+                + "?$top=" + count
+                + "&order=desc"
+                + "&api-version=" + props.apiVersion() + "-preview.4";
 
-        log.debug("GET comments for work item {}", workItemId);
-        return restClient.get()
+        log.debug("GET latest {} comments for work item {}", count, workItemId);
+        AzureCommentListResponse page = restClient.get()
                 .uri(url)
                 .retrieve()
                 .body(AzureCommentListResponse.class);
+        return page != null && page.comments() != null ? page.comments() : List.of();
+    }
+
+    private AzureCommentListResponse getWorkItemCommentsPage(String org, String project, int workItemId,
+                                                            String continuationToken) {
+        String url = commentsPageUrl(org, project, workItemId);
+
+        log.debug("GET comments for work item {} (continuationToken={})", workItemId, continuationToken);
+        if (continuationToken == null) {
+            return restClient.get()
+                    .uri(url)
+                    .retrieve()
+                    .body(AzureCommentListResponse.class);
+        }
+        return restClient.get()
+                .uri(url + "&continuationToken={continuationToken}", continuationToken)
+                .retrieve()
+                .body(AzureCommentListResponse.class);
     }
 
+    private String commentsPageUrl(String org, String project, int workItemId) {
+        return props.workItemCommentsUrl(org, project, workItemId)
+                + "?$top=" + COMMENT_PAGE_SIZE
+                + "&api-version=" + props.apiVersion() + "-preview.4";
+    }
+
+    // 304 is not an error status, so retrieve() hands it back with an empty body
+    private ResponseEntity<byte[]> conditionalGet(String url, AzureResponseCache.Entry cached) {
+        return restClient.get()
+                .uri(url)
+                .headers(headers -> {
+                    if (cached != null && cached.etag() != null) {
+                        headers.setIfNoneMatch(cached.etag());
+                    }
+                })
+                .retrieve()
+                .toEntity(byte[].class);
+    }
+
+    private static boolean isNotModified(ResponseEntity<?> response) {
+        return response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED);
+    }
+
+    private <T> T readJson(byte[] body, Class<T> type) {
+        try {
+            return objectMapper.readValue(body, type);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to parse Azure DevOps response: " + e.getMessage(), e);
+        }
+    }
+
+    public AzureRevisionBatchResponse getRevisionsBatch(String org, String project, String continuationToken,
+                                                        List<String> fields, int maxPageSize) {
+        String url = props.reportingRevisionsUrl(org, project)
+                + "?fields=" + String.join(",", fields)
+                + "&$maxPageSize=" + maxPageSize
+                + "&api-version=" + props.apiVersion();
+
+        log.debug("GET revisions batch (continuationToken={})", continuationToken);
+        if (continuationToken == null) {
+            return restClient.get()
+                    .uri(url)
+                    .retrieve()
+                    .body(AzureRevisionBatchResponse.class);
+        }
+        return restClient.get()
+                .uri(url + "&continuationToken={continuationToken}", continuationToken)
+                .retrieve()
+                .body(AzureRevisionBatchResponse.class);
+    }
+
+    /**
+     * Result of {@link #getWorkItemCommentThread}. {@code validator} is what the cache should remember once
+     * {@code comments} are persisted; it is {@code null} for threads that cannot be cached.
+     */
+    public record CommentThread(boolean unchanged, List<AzureCommentListResponse.AzureComment> comments,
+                                AzureResponseCache.Pending validator) {}
+
     private record BatchResponse(int count, List<AzureWorkItemResponse> value) {}
 }
@@ -0,0 +1,109 @@
+package dev.adolab.domain.azure;
+
+import dev.adolab.config.AzureCacheProperties;
+import dev.adolab.domain.azure.dto.AzureCacheStats;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded LRU of Azure validators keyed by endpoint and work item.
+ * <p>
+ * An entry holds the {@code ETag} Azure returned and a SHA-256 digest of the body for endpoints that do not
+ * send one. Only validators are kept, never payloads: a hit means "nothing changed since it was stored".
+ */
+@Component
+public class AzureResponseCache {
+
+    private final AzureCacheProperties props;
+    private final Map<String, Entry> entries;
+
+    private final AtomicLong notModified = new AtomicLong();
+    private final AtomicLong unchangedBodies = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public AzureResponseCache(AzureCacheProperties props) {
+        this.props = props;
+        this.entries = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > props.maxEntries()) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public boolean enabled() {
+        return props.enabled();
+    }
+
+    public Entry get(String key) {
+        if (!props.enabled()) {
+            return null;
+        }
+        synchronized (entries) {
+            return entries.get(key);
+        }
+    }
+
+    /**
+     * Stores validators returned by earlier fetches, typically after the data they describe was committed.
+     */
+    public void putAll(Collection<Pending> validators) {
+        if (!props.enabled() || validators.isEmpty()) {
+            return;
+        }
+        synchronized (entries) {
+            for (Pending validator : validators) {
+                entries.put(validator.key(), validator.entry());
+            }
+        }
+    }
+
+    public void recordNotModified() {
+        notModified.incrementAndGet();
+    }
+
+    public void recordUnchangedBody() {
+        unchangedBodies.incrementAndGet();
+    }
+
+    public void recordMiss() {
+        misses.incrementAndGet();
+    }
+
+    public AzureCacheStats stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        long hits = notModified.get() + unchangedBodies.get();
+        long total = hits + misses.get();
+        return new AzureCacheStats(size, notModified.get(), unchangedBodies.get(), misses.get(),
+                evictions.get(), total == 0 ? 0 : (double) hits / total);
+    }
+
+    public static byte[] digest(byte[] body) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(body);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record Entry(String etag, byte[] digest) {}
+
+    /**
+     * An entry that is not in the cache yet.
+     */
+    public record Pending(String key, Entry entry) {}
+}
@@ -0,0 +1,217 @@
+package dev.adolab.domain.azure;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.adolab.domain.azure.dto.AzureWorkItemRecord;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Token-level decoder for work item batch responses.
+ * <p>
+ * Reads the typed columns straight off the parser and slices the {@code fields} object out of the
+ * response bytes for {@code raw_fields}, so no {@code Map<String, Object>} tree is built and the fields
+ * are never serialized a second time.
+ */
+@Component
+public class AzureWorkItemDecoder {
+
+    private static final String PARENT_RELATION = "System.LinkTypes.Hierarchy-Reverse";
+
+    private final JsonFactory jsonFactory;
+
+    public AzureWorkItemDecoder(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    public List<AzureWorkItemRecord> decodeBatch(byte[] body) {
+        if (body == null || body.length == 0) {
+            return List.of();
+        }
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            List<AzureWorkItemRecord> items = new ArrayList<>();
+            expect(parser.nextToken(), JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken token = parser.nextToken();
+                if ("value".equals(name) && token == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        items.add(decodeItem(parser, body));
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return items;
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to decode work item batch: " + e.getMessage(), e);
+        }
+    }
+
+    private AzureWorkItemRecord decodeItem(JsonParser parser, byte[] body) throws IOException {
+        ItemBuilder item = new ItemBuilder();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken token = parser.nextToken();
+            switch (name) {
+                case "id" -> item.id = parser.getIntValue();
+                case "rev" -> item.rev = parser.getIntValue();
+                case "fields" -> {
+                    if (token == JsonToken.START_OBJECT) {
+                        int start = (int) parser.currentTokenLocation().getByteOffset();
+                        decodeFields(parser, item);
+                        int end = (int) parser.currentLocation().getByteOffset();
+                        item.rawFields = new String(body, start, end - start, StandardCharsets.UTF_8);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                case "relations" -> {
+                    if (token == JsonToken.START_ARRAY) {
+                        decodeRelations(parser, item);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        return item.build();
+    }
+
+    private void decodeFields(JsonParser parser, ItemBuilder item) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            parser.nextToken();
+            switch (name) {
+                case "System.Title" -> item.title = text(parser);
+                case "System.WorkItemType" -> item.workItemType = text(parser);
+                case "System.State" -> item.state = text(parser);
+                case "System.AssignedTo" -> item.assignedTo = identity(parser);
+                case "System.Description" -> item.description = text(parser);
+                case "Microsoft.VSTS.Common.Priority" -> item.priority = integer(parser);
+                case "System.Tags" -> item.tags = text(parser);
+                case "System.AreaPath" -> item.areaPath = text(parser);
+                case "System.IterationPath" -> item.iterationPath = text(parser);
+                case "System.Watermark" -> item.watermark = integer(parser);
+                case "System.CreatedDate" -> item.createdDate = text(parser);
+                case "System.ChangedDate" -> item.changedDate = text(parser);
+                case "System.CreatedBy" -> item.createdBy = identity(parser);
+                case "System.ChangedBy" -> item.changedBy = identity(parser);
+                case "System.CommentCount" -> item.commentCount = integer(parser);
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    private void decodeRelations(JsonParser parser, ItemBuilder item) throws IOException {
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            String rel = null;
+            String url = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+                switch (name) {
+                    case "rel" -> rel = text(parser);
+                    case "url" -> url = text(parser);
+                    default -> parser.skipChildren();
+                }
+            }
+            if (item.parentId == null && PARENT_RELATION.equals(rel) && url != null) {
+                item.parentId = trailingId(url);
+            }
+        }
+    }
+
+    // Scalars are read as text, objects and arrays are skipped
+    private static String text(JsonParser parser) throws IOException {
+        if (parser.currentToken().isStructStart()) {
+            parser.skipChildren();
+            return null;
+        }
+        return parser.currentToken() == JsonToken.VALUE_NULL ? null : parser.getText();
+    }
+
+    private static Integer integer(JsonParser parser) throws IOException {
+        if (parser.currentToken().isNumeric()) {
+            return parser.getIntValue();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    // Identity fields are objects with a displayName, older API versions send a plain string
+    private static String identity(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            return text(parser);
+        }
+        String displayName = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            parser.nextToken();
+            if ("displayName".equals(name)) {
+                displayName = text(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return displayName;
+    }
+
+    // Parent link URLs end with /workItems/{id}
+    private static Integer trailingId(String url) {
+        int slash = url.lastIndexOf('/');
+        int value = 0;
+        if (slash < 0 || slash == url.length() - 1) {
+            return null;
+        }
+        for (int i = slash + 1; i < url.length(); i++) {
+            char c = url.charAt(i);
+            if (c < '0' || c > '9' || value > (Integer.MAX_VALUE - 9) / 10) {
+                return null;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Expected " + expected + " but got " + actual);
+        }
+    }
+
+    private static final class ItemBuilder {
+        int id;
+        int rev;
+        String title;
+        String workItemType;
+        String state;
+        String assignedTo;
+        String description;
+        Integer priority;
+        String tags;
+        String areaPath;
+        String iterationPath;
+        Integer parentId;
+        Integer watermark;
+        String createdDate;
+        String changedDate;
+        String createdBy;
+        String changedBy;
+        Integer commentCount;
+        String rawFields;
+
+        AzureWorkItemRecord build() {
+            return new AzureWorkItemRecord(id, rev, title, workItemType, state, assignedTo, description,
+                    priority, tags, areaPath, iterationPath, parentId, watermark, createdDate, changedDate,
+                    createdBy, changedBy, commentCount, rawFields);
+        }
+    }
+}
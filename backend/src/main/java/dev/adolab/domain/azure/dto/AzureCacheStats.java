@@ -0,0 +1,10 @@
+package dev.adolab.domain.azure.dto;
+
+public record AzureCacheStats(
+        int entries,
+        long notModified,
+        long unchangedBodies,
+        long misses,
+        long evictions,
+        double hitRate
+) {}
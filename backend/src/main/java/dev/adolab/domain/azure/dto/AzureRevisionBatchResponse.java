@@ -0,0 +1,12 @@
+package dev.adolab.domain.azure.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record AzureRevisionBatchResponse(
+        List<AzureWorkItemResponse> values,
+        String continuationToken,
+        boolean isLastBatch
+) {}
@@ -0,0 +1,28 @@
+package dev.adolab.domain.azure.dto;
+
+/**
+ * Flat view of one work item from a batch response, decoded by
+ * {@link dev.adolab.domain.azure.AzureWorkItemDecoder}. Dates are kept as the ISO strings Azure sends and
+ * {@code rawFields} is the original {@code fields} JSON, copied from the response bytes.
+ */
+public record AzureWorkItemRecord(
+        int id,
+        int rev,
+        String title,
+        String workItemType,
+        String state,
+        String assignedTo,
+        String description,
+        Integer priority,
+        String tags,
+        String areaPath,
+        String iterationPath,
+        Integer parentId,
+        Integer watermark,
+        String createdDate,
+        String changedDate,
+        String createdBy,
+        String changedBy,
+        Integer commentCount,
+        String rawFields
+) {}
@@ -0,0 +1,142 @@
+package dev.adolab.domain.sync;
+
+import dev.adolab.domain.azure.AzureDevOpsClient;
+import dev.adolab.domain.sync.collection.IntHashSet;
+import dev.adolab.domain.sync.collection.IntIntHashMap;
+import dev.adolab.domain.workitem.dao.WorkItemDao;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Diffs the IDs under an area path against the local copy. Local watermarks and comment counts are
+ * loaded with one streamed query into primitive maps and compared against the lightweight Azure batches
+ * as they arrive. The query runs in a read-only transaction because the PostgreSQL driver only honours
+ * the fetch size, and so only streams, when autocommit is off.
+ */
+@Component
+public class ChangeDetector {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeDetector.class);
+
+    private static final int NO_WATERMARK = -1;
+    private static final int NO_COMMENT_COUNT = -1;
+
+    private final AzureDevOpsClient azureClient;
+    private final WorkItemDao workItemDao;
+    private final WorkItemMapper mapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ChangeDetector(AzureDevOpsClient azureClient, WorkItemDao workItemDao, WorkItemMapper mapper,
+                          TransactionTemplate transactionTemplate) {
+        this.azureClient = azureClient;
+        this.workItemDao = workItemDao;
+        this.mapper = mapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager(),
+                transactionTemplate);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public ChangeSet detect(String org, String project, IntHashSet azureIds, Long syncConfigId) {
+        long loadStart = System.currentTimeMillis();
+        LocalState local = loadLocalState(syncConfigId);
+        IntIntHashMap localWatermarks = local.watermarks();
+        log.info("Loaded {} local watermarks in {}ms", localWatermarks.size(), System.currentTimeMillis() - loadStart);
+
+        IntHashSet newIds = new IntHashSet();
+        List<Integer> existingInAzure = new ArrayList<>(Math.min(azureIds.size(), localWatermarks.size()));
+        azureIds.forEach(id -> {
+            if (localWatermarks.containsKey(id)) {
+                existingInAzure.add(id);
+            } else {
+                newIds.add(id);
+            }
+        });
+
+        IntHashSet deletedIds = new IntHashSet();
+        localWatermarks.forEachKey(id -> {
+            if (!azureIds.contains(id)) {
+                deletedIds.add(id);
+            }
+        });
+
+        IntHashSet changedIds = compareWatermarks(org, project, existingInAzure, local);
+        return new ChangeSet(newIds, changedIds, deletedIds);
+    }
+
+    /**
+     * Classifies IDs reported by a ChangedDate query. Items seen only because of the overlap window
+     * still carry the stored watermark and are dropped. Deletions are not visible to a delta query.
+     */
+    public ChangeSet detectDelta(String org, String project, IntHashSet changedSinceIds, Long syncConfigId) {
+        LocalState local = loadLocalState(syncConfigId);
+        IntIntHashMap localWatermarks = local.watermarks();
+
+        IntHashSet newIds = new IntHashSet();
+        List<Integer> existing = new ArrayList<>(changedSinceIds.size());
+        changedSinceIds.forEach(id -> {
+            if (localWatermarks.containsKey(id)) {
+                existing.add(id);
+            } else {
+                newIds.add(id);
+            }
+        });
+
+        IntHashSet changedIds = compareWatermarks(org, project, existing, local);
+        return new ChangeSet(newIds, changedIds, new IntHashSet());
+    }
+
+    // A comment count that moved without a watermark change still marks the item as changed
+    private IntHashSet compareWatermarks(String org, String project, List<Integer> ids, LocalState local) {
+        IntHashSet changedIds = new IntHashSet();
+        if (ids.isEmpty()) {
+            return changedIds;
+        }
+        long wmStart = System.currentTimeMillis();
+        azureClient.forEachWorkItemLightweightBatch(org, project, ids, batch -> {
+            for (var azureItem : batch) {
+                Integer azureWatermark = mapper.getIntField(azureItem.fields(), "System.Watermark");
+                Integer azureCommentCount = mapper.getIntField(azureItem.fields(), "System.CommentCount");
+                int localCommentCount = local.commentCounts().get(azureItem.id(), NO_COMMENT_COUNT);
+                if (azureWatermark == null
+                        || local.watermarks().get(azureItem.id(), NO_WATERMARK) != azureWatermark
+                        || (azureCommentCount != null && localCommentCount != NO_COMMENT_COUNT
+                            && localCommentCount != azureCommentCount)) {
+                    changedIds.add(azureItem.id());
+                }
+            }
+        });
+        log.info("Watermark check: {} of {} items changed (took {}ms)",
+                changedIds.size(), ids.size(), System.currentTimeMillis() - wmStart);
+        return changedIds;
+    }
+
+    private LocalState loadLocalState(Long syncConfigId) {
+        IntIntHashMap watermarks = new IntIntHashMap(1024);
+        IntIntHashMap commentCounts = new IntIntHashMap(1024);
+        readOnlyTransaction.executeWithoutResult(status -> workItemDao.streamWatermarks(syncConfigId, context -> {
+            var row = context.getResultObject();
+            watermarks.put(row.id(), row.watermark() != null ? row.watermark() : NO_WATERMARK);
+            if (row.commentCount() != null) {
+                commentCounts.put(row.id(), row.commentCount());
+            }
+        }));
+        return new LocalState(watermarks, commentCounts);
+    }
+
+    private record LocalState(IntIntHashMap watermarks, IntIntHashMap commentCounts) {}
+
+    public record ChangeSet(IntHashSet newIds, IntHashSet changedIds, IntHashSet deletedIds) {
+
+        public List<Integer> idsToFetch() {
+            IntHashSet toFetch = new IntHashSet(newIds.size() + changedIds.size());
+            toFetch.addAll(newIds);
+            toFetch.addAll(changedIds);
+            return toFetch.toList();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package dev.adolab.domain.sync;
+
+import dev.adolab.config.SyncProperties;
+import dev.adolab.domain.workitem.dao.WorkItemClosureDao;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Keeps {@code work_item_closure} in step with {@code parent_id}.
+ * <p>
+ * Runs inside the finalize transaction, after all upserts and deletes of the run, so the parent pointers
+ * it reads are final. Only items written since {@code since} and the children of written and deleted items
+ * are checked, so the cost follows the size of the change rather than of the config. Items whose links
+ * disagree with their parent are first all detached from their old ancestors and then attached one by one
+ * below their current parent; because every moved subtree is detached before any is attached, the order of
+ * the attach step does not matter. Past {@code sync.closure-rebuild-threshold} moved items the closure of
+ * the config is rebuilt in one statement.
+ */
+@Component
+public class ClosureMaintainer {
+
+    private static final Logger log = LoggerFactory.getLogger(ClosureMaintainer.class);
+
+    private final WorkItemClosureDao closureDao;
+    private final SyncProperties syncProps;
+
+    public ClosureMaintainer(WorkItemClosureDao closureDao, SyncProperties syncProps) {
+        this.closureDao = closureDao;
+        this.syncProps = syncProps;
+    }
+
+    /**
+     * Drops the rows of {@code deletedIds} and relinks every item whose parent changed, appeared or
+     * disappeared. {@code since} is the start of the window of writes not yet reflected in the closure,
+     * see {@link RollupMaintainer.Pending#since()}; when null every item of the config is checked.
+     * Returns the number of items that were relinked.
+     */
+    public int refresh(Long syncConfigId, Integer[] deletedIds, LocalDateTime since) {
+        if (deletedIds.length > 0) {
+            // Children of deleted items keep their links to the remaining ancestors and are detached below
+            closureDao.deleteByIds(deletedIds, syncConfigId);
+        }
+        List<Integer> stale = closureDao.findStaleIds(syncConfigId, since, deletedIds);
+        if (stale.isEmpty()) {
+            return 0;
+        }
+
+        if (stale.size() > syncProps.closureRebuildThreshold()) {
+            closureDao.deleteAll(syncConfigId);
+            int rows = closureDao.rebuild(syncConfigId);
+            log.info("Rebuilt hierarchy closure for config {}: {} moved items, {} rows", syncConfigId,
+                    stale.size(), rows);
+            return stale.size();
+        }
+
+        Integer[] ids = stale.toArray(Integer[]::new);
+        closureDao.insertSelf(ids, syncConfigId);
+        closureDao.detach(ids, syncConfigId);
+        for (Integer id : stale) {
+            closureDao.attach(id, syncConfigId);
+        }
+        log.debug("Relinked {} items in hierarchy closure for config {}", stale.size(), syncConfigId);
+        return stale.size();
+    }
+}
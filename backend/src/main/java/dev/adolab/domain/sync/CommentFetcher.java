@@ -0,0 +1,108 @@
+package dev.adolab.domain.sync;
+
+import dev.adolab.config.SyncProperties;
+import dev.adolab.domain.azure.AzureDevOpsClient;
+import dev.adolab.domain.azure.AzureResponseCache;
+import dev.adolab.domain.azure.dto.AzureCommentListResponse.AzureComment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fetches comment threads for many work items concurrently on virtual threads.
+ * At most {@code sync.comment-concurrency} requests are in flight at once.
+ */
+@Component
+public class CommentFetcher {
+
+    private static final Logger log = LoggerFactory.getLogger(CommentFetcher.class);
+
+    /** Request value meaning the whole thread should be fetched. */
+    public static final int ALL = -1;
+
+    /**
+     * Request value meaning the whole thread should be fetched unless Azure confirms it is unchanged since
+     * the validator cached under the same scope. Only valid when the caller already stored that thread.
+     */
+    public static final int ALL_IF_CHANGED = -2;
+
+    private final AzureDevOpsClient azureClient;
+    private final SyncProperties syncProps;
+
+    public CommentFetcher(AzureDevOpsClient azureClient, SyncProperties syncProps) {
+        this.azureClient = azureClient;
+        this.syncProps = syncProps;
+    }
+
+    public Map<Integer, List<AzureComment>> fetchAll(String org, String project,
+                                                     Collection<Integer> workItemIds) {
+        Map<Integer, Integer> requests = new HashMap<>();
+        for (Integer workItemId : workItemIds) {
+            requests.put(workItemId, ALL);
+        }
+        return fetch(org, project, null, requests).comments();
+    }
+
+    /**
+     * Fetches comments for each work item in {@code requests}: the whole thread ({@link #ALL},
+     * {@link #ALL_IF_CHANGED}) or only the given number of newest comments. Items whose fetch failed are
+     * logged and left out of the result, so callers treat them the same as items without comments.
+     * <p>
+     * With a {@code cacheScope}, whole threads are fetched conditionally and the returned validators must be
+     * handed to {@link AzureResponseCache#putAll} once the comments are persisted. Threads Azure reports as
+     * unchanged are counted but left out of {@link Result#comments()}.
+     */
+    public Result fetch(String org, String project, String cacheScope, Map<Integer, Integer> requests) {
+        Map<Integer, List<AzureComment>> comments = new ConcurrentHashMap<>();
+        List<AzureResponseCache.Pending> validators = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger unchanged = new AtomicInteger();
+        if (requests.isEmpty()) {
+            return new Result(comments, validators, 0);
+        }
+
+        Semaphore permits = new Semaphore(Math.max(1, syncProps.commentConcurrency()));
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            requests.forEach((workItemId, latest) -> executor.submit(() -> {
+                permits.acquireUninterruptibly();
+                try {
+                    if (latest == ALL || latest == ALL_IF_CHANGED) {
+                        AzureDevOpsClient.CommentThread thread = azureClient.getWorkItemCommentThread(
+                                org, project, workItemId, cacheScope, latest == ALL_IF_CHANGED);
+                        if (thread.validator() != null) {
+                            validators.add(thread.validator());
+                        }
+                        if (thread.unchanged()) {
+                            unchanged.incrementAndGet();
+                        } else {
+                            comments.put(workItemId, thread.comments());
+                        }
+                    } else {
+                        comments.put(workItemId,
+                                azureClient.getLatestWorkItemComments(org, project, workItemId, latest));
+                    }
+                } catch (Exception e) {
+                    log.warn("Failed to fetch comments for work item {}: {}", workItemId, e.getMessage());
+                } finally {
+                    permits.release();
+                }
+            }));
+        }
+        return new Result(comments, List.copyOf(validators), unchanged.get());
+    }
+
+    public record Result(Map<Integer, List<AzureComment>> comments,
+                         List<AzureResponseCache.Pending> validators,
+                         int unchanged) {}
+}
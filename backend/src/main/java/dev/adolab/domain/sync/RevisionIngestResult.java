@@ -0,0 +1,9 @@
+package dev.adolab.domain.sync;
+
+public record RevisionIngestResult(
+        Long syncConfigId,
+        int pagesProcessed,
+        int revisionsStored,
+        boolean caughtUp,
+        String duration
+) {}
@@ -0,0 +1,77 @@
+package dev.adolab.domain.sync;
+
+import dev.adolab.config.SyncProperties;
+import dev.adolab.domain.sync.collection.IntHashSet;
+import dev.adolab.domain.workitem.dao.WorkItemRollupDao;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Keeps {@code work_item_rollup} in step with the hierarchy and the item fields it aggregates.
+ * <p>
+ * Only ancestors of items written or deleted since the last completed run are recomputed. Ancestors are
+ * collected on both sides of {@link ClosureMaintainer#refresh}: before it, so former parents of moved and
+ * deleted items lose their counts, and after it, so new parents gain them. Past
+ * {@code sync.rollup-rebuild-threshold} affected ancestors the rollups of the config are rebuilt at once.
+ */
+@Component
+public class RollupMaintainer {
+
+    private static final Logger log = LoggerFactory.getLogger(RollupMaintainer.class);
+
+    private final WorkItemRollupDao rollupDao;
+    private final SyncProperties syncProps;
+
+    public RollupMaintainer(WorkItemRollupDao rollupDao, SyncProperties syncProps) {
+        this.rollupDao = rollupDao;
+        this.syncProps = syncProps;
+    }
+
+    /** Collects the current ancestors of affected items; call before deletes and the closure refresh. */
+    public Pending begin(Long syncConfigId, Integer[] deletedIds) {
+        LocalDateTime since = rollupDao.findPendingSince(syncConfigId);
+        IntHashSet ancestors = new IntHashSet();
+        if (since != null) {
+            for (Integer id : rollupDao.findAffectedAncestors(syncConfigId, since, deletedIds)) {
+                ancestors.add(id);
+            }
+        }
+        return new Pending(since, ancestors);
+    }
+
+    /** Recomputes the rollups of former and current ancestors; call after the closure refresh. */
+    public void complete(Long syncConfigId, Pending pending) {
+        if (pending.since() == null) {
+            rebuild(syncConfigId);
+            return;
+        }
+
+        IntHashSet affected = pending.ancestors();
+        for (Integer id : rollupDao.findAffectedAncestors(syncConfigId, pending.since(), new Integer[0])) {
+            affected.add(id);
+        }
+        if (affected.isEmpty()) {
+            return;
+        }
+        if (affected.size() > syncProps.rollupRebuildThreshold()) {
+            rebuild(syncConfigId);
+            return;
+        }
+
+        Integer[] ids = affected.toList().toArray(Integer[]::new);
+        rollupDao.deleteByAncestorIds(ids, syncConfigId);
+        rollupDao.insertForAncestors(ids, syncConfigId);
+        log.debug("Recomputed rollups of {} ancestors for config {}", ids.length, syncConfigId);
+    }
+
+    private void rebuild(Long syncConfigId) {
+        rollupDao.deleteAll(syncConfigId);
+        int rows = rollupDao.rebuild(syncConfigId);
+        log.info("Rebuilt rollups for config {}: {} rows", syncConfigId, rows);
+    }
+
+    public record Pending(LocalDateTime since, IntHashSet ancestors) {}
+}
@@ -1,6 +1,5 @@
 package dev.adolab.domain.sync;
 
-import dev.adolab.domain.workitem.entity.SyncConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
@@ -12,10 +11,10 @@ public class StartupSyncRunner {
 
     private static final Logger log = LoggerFactory.getLogger(StartupSyncRunner.class);
 
-    private final SyncService syncService;
+    private final SyncOrchestrator syncOrchestrator;
 
-    public StartupSyncRunner(SyncService syncService) {
-        this.syncService = syncService;
+    public StartupSyncRunner(SyncOrchestrator syncOrchestrator) {
+        this.syncOrchestrator = syncOrchestrator;
     }
 
     @EventListener(ApplicationReadyEvent.class)
@@ -23,11 +22,11 @@ public class StartupSyncRunner {
         Thread.ofVirtual().name("startup-sync").start(() -> {
             try {
                 log.info("Starting automatic sync on application startup...");
-                SyncConfig config = syncService.getOrCreateDefaultConfig();
-                SyncResult result = syncService.sync(config.id());
-                log.info("Startup sync completed: {} items synced ({} added, {} updated, {} deleted), {} comments, duration: {}",
-                        result.itemsSynced(), result.itemsAdded(), result.itemsUpdated(),
-                        result.itemsDeleted(), result.commentsSynced(), result.duration());
+                for (SyncResult result : syncOrchestrator.syncAll()) {
+                    log.info("Startup sync for config {} {}: {} items synced ({} added, {} updated, {} deleted), {} comments, duration: {}",
+                            result.syncConfigId(), result.status(), result.itemsSynced(), result.itemsAdded(),
+                            result.itemsUpdated(), result.itemsDeleted(), result.commentsSynced(), result.duration());
+                }
             } catch (Exception e) {
                 log.error("Startup sync failed: {}", e.getMessage(), e);
             }
@@ -0,0 +1,122 @@
+package dev.adolab.domain.sync;
+
+import dev.adolab.config.AzureDevOpsProperties;
+import dev.adolab.config.SyncProperties;
+import dev.adolab.domain.workitem.dao.SyncConfigDao;
+import dev.adolab.domain.workitem.entity.SyncConfig;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory view of {@code sync_config}, so request handling does not query the table on every call.
+ * <p>
+ * The snapshot is reloaded after {@code sync.config-cache-ttl} and whenever configs are created or
+ * deleted through this registry. Cached entries carry the sync timestamps as of the last reload; code
+ * that depends on {@code last_synced} reads the row directly.
+ */
+@Component
+public class SyncConfigRegistry {
+
+    private final SyncConfigDao syncConfigDao;
+    private final AzureDevOpsProperties azureProps;
+    private final SyncProperties syncProps;
+
+    private volatile Snapshot snapshot;
+
+    public SyncConfigRegistry(SyncConfigDao syncConfigDao, AzureDevOpsProperties azureProps,
+                              SyncProperties syncProps) {
+        this.syncConfigDao = syncConfigDao;
+        this.azureProps = azureProps;
+        this.syncProps = syncProps;
+    }
+
+    public List<SyncConfig> all() {
+        return List.copyOf(current().configs().values());
+    }
+
+    public SyncConfig get(Long id) {
+        SyncConfig config = current().configs().get(id);
+        if (config == null) {
+            // Created on another instance since the last reload
+            config = reload().configs().get(id);
+        }
+        if (config == null) {
+            throw new IllegalArgumentException("Sync config not found: " + id);
+        }
+        return config;
+    }
+
+    /**
+     * Most recently created config, created from {@code azure.devops.area-path} when the table is empty.
+     * Backs the routes that are not scoped to a config.
+     */
+    public SyncConfig defaultConfig() {
+        Map<Long, SyncConfig> configs = current().configs();
+        if (!configs.isEmpty()) {
+            return configs.values().iterator().next();
+        }
+        String areaPath = azureProps.areaPath();
+        if (areaPath == null || areaPath.isBlank()) {
+            throw new IllegalStateException("azure.devops.area-path is not configured in application.yml");
+        }
+        synchronized (this) {
+            configs = reload().configs();
+            if (configs.isEmpty()) {
+                syncConfigDao.insert(areaPath, areaPath);
+                configs = reload().configs();
+            }
+        }
+        return configs.values().iterator().next();
+    }
+
+    public synchronized SyncConfig create(String name, String areaPath) {
+        if (areaPath == null || areaPath.isBlank()) {
+            throw new IllegalArgumentException("areaPath is required");
+        }
+        boolean exists = reload().configs().values().stream()
+                .anyMatch(c -> c.areaPath().equalsIgnoreCase(areaPath));
+        if (exists) {
+            throw new IllegalArgumentException("A sync config for area path '" + areaPath + "' already exists");
+        }
+        syncConfigDao.insert(name != null && !name.isBlank() ? name : areaPath, areaPath);
+        return reload().configs().values().stream()
+                .filter(c -> c.areaPath().equalsIgnoreCase(areaPath))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    public synchronized void delete(Long id) {
+        get(id);
+        syncConfigDao.delete(id);
+        reload();
+    }
+
+    public void invalidate() {
+        snapshot = null;
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null || System.nanoTime() - current.loadedAt() > syncProps.configCacheTtl().toNanos()) {
+            return reload();
+        }
+        return current;
+    }
+
+    private Snapshot reload() {
+        // findAll orders newest first, the first entry is the default config
+        Map<Long, SyncConfig> configs = new LinkedHashMap<>();
+        for (SyncConfig config : syncConfigDao.findAll()) {
+            configs.put(config.id(), config);
+        }
+        Snapshot loaded = new Snapshot(Collections.unmodifiableMap(configs), System.nanoTime());
+        snapshot = loaded;
+        return loaded;
+    }
+
+    private record Snapshot(Map<Long, SyncConfig> configs, long loadedAt) {}
+}
@@ -0,0 +1,6 @@
+package dev.adolab.domain.sync;
+
+public record SyncConfigRequest(
+        String name,
+        String areaPath
+) {}
@@ -0,0 +1,201 @@
+package dev.adolab.domain.sync;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.adolab.config.SyncProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-flight entry point for {@link SyncService#sync}.
+ * <p>
+ * Callers in the same JVM share one future per sync config. Across instances the owner of the run holds a
+ * Redis lock ({@code SET NX PX}), renewed while the run is alive. On completion the owner publishes its
+ * outcome under the lock token, and instances that were waiting on that token return it instead of
+ * starting a run of their own. If the owner dies, the lock expires, a waiter takes it over and the
+ * interrupted run is resumed from its checkpoint. An owner that cannot renew its lock marks the run's
+ * {@link SyncLease} lost, stops before writing anything else and publishes no outcome.
+ */
+@Component
+public class SyncCoordinator {
+
+    private static final Logger log = LoggerFactory.getLogger(SyncCoordinator.class);
+
+    private static final String LOCK_KEY = "sync:lock:";
+    private static final String OUTCOME_KEY = "sync:outcome:";
+    private static final Duration OUTCOME_TTL = Duration.ofMinutes(10);
+    private static final Duration POLL_INTERVAL = Duration.ofSeconds(1);
+
+    private static final RedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('pexpire', KEYS[1], ARGV[2]) else return 0 end",
+            Long.class);
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final SyncService syncService;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final SyncProperties syncProps;
+    private final Map<Long, CompletableFuture<SyncResult>> inFlight = new ConcurrentHashMap<>();
+
+    public SyncCoordinator(SyncService syncService,
+                           RedisTemplate<String, Object> redisTemplate,
+                           ObjectMapper objectMapper,
+                           SyncProperties syncProps) {
+        this.syncService = syncService;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.syncProps = syncProps;
+    }
+
+    public SyncResult sync(Long syncConfigId) {
+        CompletableFuture<SyncResult> created = new CompletableFuture<>();
+        CompletableFuture<SyncResult> existing = inFlight.putIfAbsent(syncConfigId, created);
+        if (existing != null) {
+            log.info("Sync for config {} already in flight on this instance, attaching", syncConfigId);
+            return join(existing);
+        }
+
+        try {
+            created.complete(syncProps.clusterLock() ? runExclusive(syncConfigId) : syncService.sync(syncConfigId));
+        } catch (RuntimeException e) {
+            created.completeExceptionally(e);
+        } finally {
+            inFlight.remove(syncConfigId, created);
+        }
+        return join(created);
+    }
+
+    private SyncResult runExclusive(Long syncConfigId) {
+        String lockKey = LOCK_KEY + syncConfigId;
+        long deadline = System.nanoTime() + syncProps.lockWaitTimeout().toNanos();
+
+        while (true) {
+            String token = UUID.randomUUID().toString();
+            if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(lockKey, token, syncProps.lockLease()))) {
+                return runHoldingLock(syncConfigId, lockKey, token);
+            }
+
+            Object holder = redisTemplate.opsForValue().get(lockKey);
+            if (holder == null) {
+                continue;
+            }
+            log.info("Sync for config {} is running on another instance, waiting for its result", syncConfigId);
+            while (Objects.equals(redisTemplate.opsForValue().get(lockKey), holder)) {
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException("Timed out waiting for the running sync of config " + syncConfigId);
+                }
+                sleep(POLL_INTERVAL);
+            }
+
+            Outcome outcome = readOutcome(syncConfigId);
+            if (outcome != null && holder.equals(outcome.token())) {
+                if (outcome.result() == null) {
+                    throw new IllegalStateException("Sync failed on another instance: " + outcome.error());
+                }
+                return outcome.result();
+            }
+            // The holder went away without publishing an outcome; take the lock and resume its run
+            log.warn("Sync lock for config {} expired without a result, taking over", syncConfigId);
+        }
+    }
+
+    private SyncResult runHoldingLock(Long syncConfigId, String lockKey, String token) {
+        SyncLease lease = new SyncLease();
+        Thread renewer = Thread.ofVirtual().name("sync-lock-renewer-" + syncConfigId).start(() -> {
+            Duration interval = syncProps.lockLease().dividedBy(3);
+            long expiresAt = System.nanoTime() + syncProps.lockLease().toNanos();
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    Thread.sleep(interval);
+                    Long renewed = redisTemplate.execute(RENEW_SCRIPT, List.of(lockKey),
+                            token, syncProps.lockLease().toMillis());
+                    if (renewed == null || renewed == 0) {
+                        log.warn("Lost sync lock for config {}, stopping the run", syncConfigId);
+                        lease.markLost();
+                        return;
+                    }
+                    expiresAt = System.nanoTime() + syncProps.lockLease().toNanos();
+                } catch (InterruptedException e) {
+                    return;
+                } catch (RuntimeException e) {
+                    log.warn("Failed to renew sync lock for config {}: {}", syncConfigId, e.getMessage());
+                    // Without a successful renewal the lock has expired by now and may have been taken
+                    if (System.nanoTime() - expiresAt >= 0) {
+                        log.warn("Sync lock for config {} expired while renewal was failing, stopping the run",
+                                syncConfigId);
+                        lease.markLost();
+                        return;
+                    }
+                }
+            }
+        });
+
+        try {
+            SyncResult result = syncService.sync(syncConfigId, lease);
+            // The run committed before the lock went away; a waiter that took over finds nothing left to do
+            if (!lease.isLost()) {
+                publishOutcome(syncConfigId, new Outcome(token, result, null));
+            }
+            return result;
+        } catch (RuntimeException e) {
+            // Once the lock is gone the token may belong to nobody, and a new owner publishes its own outcome
+            if (!lease.isLost()) {
+                publishOutcome(syncConfigId, new Outcome(token, null, e.getMessage()));
+            }
+            throw e;
+        } finally {
+            renewer.interrupt();
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(lockKey), token);
+        }
+    }
+
+    // Published before the lock is released, so a waiter that sees the lock go away finds the outcome
+    private void publishOutcome(Long syncConfigId, Outcome outcome) {
+        try {
+            redisTemplate.opsForValue().set(OUTCOME_KEY + syncConfigId, outcome, OUTCOME_TTL);
+        } catch (RuntimeException e) {
+            log.warn("Failed to publish sync outcome for config {}: {}", syncConfigId, e.getMessage());
+        }
+    }
+
+    private Outcome readOutcome(Long syncConfigId) {
+        Object value = redisTemplate.opsForValue().get(OUTCOME_KEY + syncConfigId);
+        return value != null ? objectMapper.convertValue(value, Outcome.class) : null;
+    }
+
+    private static SyncResult join(CompletableFuture<SyncResult> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw e;
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a running sync", e);
+        }
+    }
+
+    record Outcome(String token, SyncResult result, String error) {}
+}
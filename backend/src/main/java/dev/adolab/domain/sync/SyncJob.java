@@ -0,0 +1,44 @@
+package dev.adolab.domain.sync;
+
+import java.time.LocalDateTime;
+
+/**
+ * A sync or revision ingest started through the job API. {@code progress} is filled while a sync runs,
+ * {@code result} (syncs), {@code revisions} (revision ingests) or {@code error} once the job finished.
+ * {@code heartbeatAt} is renewed by the instance running the job.
+ */
+public record SyncJob(
+        String id,
+        String type,
+        Long syncConfigId,
+        String status,
+        LocalDateTime submittedAt,
+        LocalDateTime heartbeatAt,
+        LocalDateTime finishedAt,
+        SyncProgress progress,
+        SyncResult result,
+        RevisionIngestResult revisions,
+        String error
+) {
+
+    public static final String SYNC = "sync";
+    public static final String REVISIONS = "revisions";
+
+    public static final String RUNNING = "running";
+    public static final String COMPLETED = "completed";
+    public static final String FAILED = "failed";
+
+    public boolean finished() {
+        return !RUNNING.equals(status);
+    }
+
+    SyncJob withProgress(SyncProgress progress) {
+        return new SyncJob(id, type, syncConfigId, status, submittedAt, heartbeatAt, finishedAt, progress, result,
+                revisions, error);
+    }
+
+    SyncJob withHeartbeat(LocalDateTime heartbeatAt) {
+        return new SyncJob(id, type, syncConfigId, status, submittedAt, heartbeatAt, finishedAt, progress, result,
+                revisions, error);
+    }
+}
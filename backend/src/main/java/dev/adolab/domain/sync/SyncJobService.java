@@ -0,0 +1,186 @@
+package dev.adolab.domain.sync;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.adolab.config.SyncProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Runs syncs and revision ingests in the background and keeps their outcome queryable for
+ * {@code sync.job-retention}.
+ * <p>
+ * Sync jobs go through {@link SyncCoordinator}, so submitting twice for the same config attaches to the
+ * running sync instead of starting another one. With {@code sync.cluster-lock} enabled, job state is mirrored to
+ * Redis and any instance can answer for it. The instance running a job renews its heartbeat every third of
+ * {@code sync.job-lease}; a running job whose heartbeat is older than the lease lost its instance and is
+ * reported, and stored, as failed.
+ */
+@Service
+public class SyncJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(SyncJobService.class);
+
+    private static final String JOB_KEY = "sync:job:";
+
+    private final SyncCoordinator syncCoordinator;
+    private final RevisionIngestService revisionIngestService;
+    private final SyncProgressTracker progressTracker;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final SyncProperties syncProps;
+    private final Map<String, SyncJob> jobs = new ConcurrentHashMap<>();
+    private final Map<Long, SyncJob> runningIngests = new HashMap<>();
+
+    public SyncJobService(SyncCoordinator syncCoordinator,
+                          RevisionIngestService revisionIngestService,
+                          SyncProgressTracker progressTracker,
+                          RedisTemplate<String, Object> redisTemplate,
+                          ObjectMapper objectMapper,
+                          SyncProperties syncProps) {
+        this.syncCoordinator = syncCoordinator;
+        this.revisionIngestService = revisionIngestService;
+        this.progressTracker = progressTracker;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.syncProps = syncProps;
+    }
+
+    public SyncJob submit(Long syncConfigId) {
+        return start(SyncJob.SYNC, syncConfigId, job -> {
+            SyncResult result = syncCoordinator.sync(syncConfigId);
+            return new SyncJob(job.id(), job.type(), syncConfigId, SyncJob.COMPLETED, job.submittedAt(),
+                    LocalDateTime.now(), LocalDateTime.now(), null, result, null, null);
+        });
+    }
+
+    /**
+     * Starts a revision history ingest in the background. While one is running for the config on this
+     * instance, submitting again returns that job instead of reading the same cursor twice.
+     */
+    public SyncJob submitRevisionIngest(Long syncConfigId) {
+        synchronized (runningIngests) {
+            SyncJob running = runningIngests.get(syncConfigId);
+            if (running != null) {
+                return running;
+            }
+            SyncJob submitted = start(SyncJob.REVISIONS, syncConfigId, job -> {
+                try {
+                    RevisionIngestResult result = revisionIngestService.ingest(syncConfigId);
+                    return new SyncJob(job.id(), job.type(), syncConfigId, SyncJob.COMPLETED, job.submittedAt(),
+                            LocalDateTime.now(), LocalDateTime.now(), null, null, result, null);
+                } finally {
+                    synchronized (runningIngests) {
+                        runningIngests.remove(syncConfigId);
+                    }
+                }
+            });
+            runningIngests.put(syncConfigId, submitted);
+            return submitted;
+        }
+    }
+
+    // Runs work on a virtual thread; it maps the running job to its completed state
+    private SyncJob start(String type, Long syncConfigId, UnaryOperator<SyncJob> work) {
+        pruneFinished();
+        LocalDateTime now = LocalDateTime.now();
+        SyncJob job = new SyncJob(UUID.randomUUID().toString(), type, syncConfigId, SyncJob.RUNNING,
+                now, now, null, null, null, null, null);
+        store(job);
+
+        Thread.ofVirtual().name(type + "-job-" + job.id()).start(() -> {
+            Thread heartbeat = startHeartbeat(job);
+            SyncJob finished;
+            try {
+                finished = work.apply(job);
+            } catch (RuntimeException e) {
+                log.error("{} job {} for config {} failed", type, job.id(), syncConfigId, e);
+                finished = new SyncJob(job.id(), type, syncConfigId, SyncJob.FAILED, job.submittedAt(),
+                        LocalDateTime.now(), LocalDateTime.now(), null, null, null, e.getMessage());
+            }
+            // A heartbeat still in flight would otherwise overwrite the final state with a running one
+            heartbeat.interrupt();
+            try {
+                heartbeat.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            store(finished);
+        });
+        log.info("{} job {} submitted for config {}", type, job.id(), syncConfigId);
+        return job;
+    }
+
+    public SyncJob get(String jobId) {
+        SyncJob job = jobs.get(jobId);
+        if (job == null && syncProps.clusterLock()) {
+            Object value = redisTemplate.opsForValue().get(JOB_KEY + jobId);
+            job = value != null ? objectMapper.convertValue(value, SyncJob.class) : null;
+        }
+        if (job == null) {
+            throw new IllegalArgumentException("Sync job not found: " + jobId);
+        }
+        if (job.finished()) {
+            return job;
+        }
+        if (expired(job)) {
+            return expire(job);
+        }
+        return SyncJob.SYNC.equals(job.type()) ? job.withProgress(progressTracker.get(job.syncConfigId())) : job;
+    }
+
+    private Thread startHeartbeat(SyncJob job) {
+        return Thread.ofVirtual().name("sync-job-heartbeat-" + job.id()).start(() -> {
+            Duration interval = syncProps.jobLease().dividedBy(3);
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    Thread.sleep(interval);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                store(job.withHeartbeat(LocalDateTime.now()));
+            }
+        });
+    }
+
+    private boolean expired(SyncJob job) {
+        LocalDateTime heartbeatAt = job.heartbeatAt() != null ? job.heartbeatAt() : job.submittedAt();
+        return heartbeatAt.isBefore(LocalDateTime.now().minus(syncProps.jobLease()));
+    }
+
+    private SyncJob expire(SyncJob job) {
+        log.warn("{} job {} for config {} missed its heartbeat since {}, marking it failed",
+                job.type(), job.id(), job.syncConfigId(), job.heartbeatAt());
+        SyncJob failed = new SyncJob(job.id(), job.type(), job.syncConfigId(), SyncJob.FAILED, job.submittedAt(),
+                job.heartbeatAt(), LocalDateTime.now(), null, null, null,
+                "Job stopped without finishing, the instance running it went away");
+        store(failed);
+        return failed;
+    }
+
+    private void store(SyncJob job) {
+        jobs.put(job.id(), job);
+        if (!syncProps.clusterLock()) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(JOB_KEY + job.id(), job, syncProps.jobRetention());
+        } catch (RuntimeException e) {
+            log.warn("Failed to publish sync job {}: {}", job.id(), e.getMessage());
+        }
+    }
+
+    private void pruneFinished() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(syncProps.jobRetention());
+        jobs.values().removeIf(job -> job.finished() && job.finishedAt().isBefore(cutoff));
+    }
+}
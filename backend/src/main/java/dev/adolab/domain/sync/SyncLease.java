@@ -0,0 +1,43 @@
+package dev.adolab.domain.sync;
+
+/**
+ * Ownership of a running sync as seen by the run itself.
+ * <p>
+ * {@link SyncCoordinator} marks the lease lost once its cluster lock can no longer be renewed. From then on
+ * another instance may take the run over, so the sync stops before its next persist, checkpoint or finalize.
+ */
+public final class SyncLease {
+
+    /** Lease of a run that is not guarded by a cluster lock; it is never lost. */
+    public static final SyncLease NONE = new SyncLease();
+
+    private volatile boolean lost;
+
+    SyncLease() {
+    }
+
+    void markLost() {
+        if (this != NONE) {
+            lost = true;
+        }
+    }
+
+    public boolean isLost() {
+        return lost;
+    }
+
+    public void check() {
+        if (lost) {
+            throw new LostException();
+        }
+    }
+
+    public static final class LostException extends IllegalStateException {
+
+        private static final long serialVersionUID = 1L;
+
+        LostException() {
+            super("Sync lock lost, another instance may own this run");
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package dev.adolab.domain.sync;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer meters for sync runs, exposed under {@code /actuator/metrics}:
+ * <ul>
+ *     <li>{@code adolab.sync.stage} – time per {@link SyncStage}, tagged with stage and mode</li>
+ *     <li>{@code adolab.sync.run} – whole runs, tagged with mode and status</li>
+ *     <li>{@code adolab.sync.items}, {@code adolab.sync.comments} – rows persisted</li>
+ * </ul>
+ * Each run also gets a {@link Timings} that sums the same samples for {@link SyncResult#stages()} and
+ * the {@code sync_run} history.
+ */
+@Component
+public class SyncMetrics {
+
+    private final MeterRegistry registry;
+
+    public SyncMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public Timings startRun(SyncMode mode) {
+        return new Timings(mode.name());
+    }
+
+    public void recordRun(SyncMode mode, String status, long millis, int items, int comments) {
+        Timer.builder("adolab.sync.run")
+                .tag("mode", mode.name())
+                .tag("status", status)
+                .register(registry)
+                .record(millis, TimeUnit.MILLISECONDS);
+        Counter.builder("adolab.sync.items").tag("mode", mode.name()).register(registry).increment(items);
+        Counter.builder("adolab.sync.comments").tag("mode", mode.name()).register(registry).increment(comments);
+    }
+
+    /**
+     * Busy time per stage for a single run. Safe to record from several pipeline threads at once.
+     */
+    public final class Timings {
+
+        private final Map<SyncStage, LongAdder> nanos = new EnumMap<>(SyncStage.class);
+        private final Map<SyncStage, LongAdder> samples = new EnumMap<>(SyncStage.class);
+        private final Map<SyncStage, Timer> timers = new EnumMap<>(SyncStage.class);
+
+        private Timings(String mode) {
+            for (SyncStage stage : SyncStage.values()) {
+                nanos.put(stage, new LongAdder());
+                samples.put(stage, new LongAdder());
+                timers.put(stage, Timer.builder("adolab.sync.stage")
+                        .tag("stage", stage.name().toLowerCase(Locale.ROOT))
+                        .tag("mode", mode)
+                        .register(registry));
+            }
+        }
+
+        public void record(SyncStage stage, long elapsedNanos) {
+            nanos.get(stage).add(elapsedNanos);
+            samples.get(stage).increment();
+            timers.get(stage).record(elapsedNanos, TimeUnit.NANOSECONDS);
+        }
+
+        public <T> T time(SyncStage stage, Supplier<T> work) {
+            long start = System.nanoTime();
+            try {
+                return work.get();
+            } finally {
+                record(stage, System.nanoTime() - start);
+            }
+        }
+
+        public void time(SyncStage stage, Runnable work) {
+            long start = System.nanoTime();
+            try {
+                work.run();
+            } finally {
+                record(stage, System.nanoTime() - start);
+            }
+        }
+
+        /** Stages that recorded at least one sample, in {@link SyncStage} order. */
+        public List<SyncStageTiming> breakdown() {
+            List<SyncStageTiming> stages = new ArrayList<>();
+            for (SyncStage stage : SyncStage.values()) {
+                int count = samples.get(stage).intValue();
+                if (count > 0) {
+                    stages.add(new SyncStageTiming(stage.name().toLowerCase(Locale.ROOT),
+                            TimeUnit.NANOSECONDS.toMillis(nanos.get(stage).sum()), count));
+                }
+            }
+            return stages;
+        }
+    }
+}
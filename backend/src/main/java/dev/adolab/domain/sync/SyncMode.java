@@ -0,0 +1,10 @@
+package dev.adolab.domain.sync;
+
+public enum SyncMode {
+    /** First sync of a config: every item under the area path is fetched. */
+    FULL,
+    /** Lists every ID under the area path and compares watermarks; also finds deletions. */
+    INCREMENTAL,
+    /** Only queries items whose ChangedDate moved past the last sync; deletions wait for the next INCREMENTAL run. */
+    DELTA
+}
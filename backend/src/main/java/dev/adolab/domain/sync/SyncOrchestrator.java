@@ -0,0 +1,88 @@
+package dev.adolab.domain.sync;
+
+import dev.adolab.config.SyncProperties;
+import dev.adolab.domain.workitem.entity.SyncConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Syncs several configs in parallel. At most {@code sync.max-parallel-configs} run at once on this node,
+ * and all of them share the adaptive Azure request limit of {@code http.azure.max-concurrency}.
+ */
+@Component
+public class SyncOrchestrator {
+
+    private static final Logger log = LoggerFactory.getLogger(SyncOrchestrator.class);
+
+    private final SyncCoordinator syncCoordinator;
+    private final SyncConfigRegistry configRegistry;
+    private final SyncProperties syncProps;
+
+    public SyncOrchestrator(SyncCoordinator syncCoordinator, SyncConfigRegistry configRegistry,
+                            SyncProperties syncProps) {
+        this.syncCoordinator = syncCoordinator;
+        this.configRegistry = configRegistry;
+        this.syncProps = syncProps;
+    }
+
+    public List<SyncResult> syncAll() {
+        configRegistry.defaultConfig();
+        return sync(configRegistry.all());
+    }
+
+    /**
+     * Returns one result per config in input order. A config that fails is logged and reported with
+     * status {@code failed}; it does not abort the others.
+     */
+    public List<SyncResult> sync(List<SyncConfig> configs) {
+        if (configs.isEmpty()) {
+            return List.of();
+        }
+        long startTime = System.currentTimeMillis();
+        Semaphore slots = new Semaphore(Math.max(1, syncProps.maxParallelConfigs()));
+        List<Future<SyncResult>> futures = new ArrayList<>(configs.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (SyncConfig config : configs) {
+                futures.add(executor.submit(() -> {
+                    slots.acquire();
+                    try {
+                        return syncCoordinator.sync(config.id());
+                    } catch (RuntimeException e) {
+                        log.error("Sync for config {} ({}) failed: {}", config.id(), config.areaPath(), e.getMessage(), e);
+                        return failed(config.id(), startTime);
+                    } finally {
+                        slots.release();
+                    }
+                }));
+            }
+        }
+
+        List<SyncResult> results = new ArrayList<>(futures.size());
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                results.add(futures.get(i).get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while syncing configs", e);
+            } catch (ExecutionException e) {
+                results.add(failed(configs.get(i).id(), startTime));
+            }
+        }
+        configRegistry.invalidate();
+        return results;
+    }
+
+    private static SyncResult failed(Long syncConfigId, long startTime) {
+        String duration = String.format("%.1fs", (System.currentTimeMillis() - startTime) / 1000.0);
+        return new SyncResult(syncConfigId, "failed", 0, 0, 0, 0, 0, 0, duration, List.of());
+    }
+}
@@ -0,0 +1,15 @@
+package dev.adolab.domain.sync;
+
+/**
+ * Progress marker persisted on a sync run so an interrupted run can pick up where it stopped.
+ */
+public enum SyncPhase {
+
+    /** Fetching and persisting the run's target IDs, one committed chunk at a time. */
+    FETCHING,
+
+    /** All target IDs persisted; removing items deleted in Azure and advancing the cursor. */
+    DELETING,
+
+    COMPLETED
+}
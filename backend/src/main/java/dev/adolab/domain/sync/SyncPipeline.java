@@ -0,0 +1,326 @@
+package dev.adolab.domain.sync;
+
+import dev.adolab.config.SyncProperties;
+import dev.adolab.domain.ai.dao.EmbeddingJobDao;
+import dev.adolab.domain.azure.AzureDevOpsClient;
+import dev.adolab.domain.azure.AzureResponseCache;
+import dev.adolab.domain.azure.dto.AzureCommentListResponse.AzureComment;
+import dev.adolab.domain.azure.dto.AzureWorkItemRecord;
+import dev.adolab.domain.workitem.dao.WorkItemBulkWriter;
+import dev.adolab.domain.workitem.dao.WorkItemDao;
+import dev.adolab.domain.workitem.entity.WorkItem;
+import dev.adolab.domain.workitem.entity.WorkItemComment;
+import dev.adolab.domain.workitem.entity.WorkItemWatermark;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streams work items through fetch → map + comment fetch → persist + embedding job enqueue.
+ * <p>
+ * Each batch returned by {@link AzureDevOpsClient#forEachWorkItemRecordBatch} moves to the next stage
+ * as soon as it arrives. Stages are connected by bounded queues, so at most a few batches are held
+ * in memory at any time. Persistence runs on the calling thread and commits each batch in its own
+ * transaction, together with the caller's {@link ChunkListener} checkpoint; network stages run on virtual
+ * threads. Embeddings are only enqueued here and generated later by the embedding job workers.
+ * <p>
+ * Items whose stored {@code System.Watermark} and comment count match what Azure returned are not written at
+ * all: no upsert, no embedding job. They are still checkpointed and reported as unchanged. The upserts
+ * themselves are guarded as well, see {@link WorkItemBulkWriter}.
+ * <p>
+ * Comment threads are only requested for items whose {@code System.CommentCount} says there is something
+ * to fetch, see {@link CommentMode}. Whole threads of items that are already stored are revalidated through
+ * {@link AzureResponseCache}; the new validators are only cached after their batch commits, so a rolled back
+ * batch can never make a later run treat a thread as already persisted.
+ */
+@Component
+public class SyncPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(SyncPipeline.class);
+
+    private static final FetchedBatch END_OF_FETCH = new FetchedBatch(List.of());
+    private static final MappedBatch END_OF_MAPPING = new MappedBatch(List.of(), List.of(), Map.of(), List.of());
+
+    private final AzureDevOpsClient azureClient;
+    private final CommentFetcher commentFetcher;
+    private final AzureResponseCache responseCache;
+    private final WorkItemMapper mapper;
+    private final WorkItemBulkWriter bulkWriter;
+    private final EmbeddingJobDao embeddingJobDao;
+    private final WorkItemDao workItemDao;
+    private final SyncProperties syncProps;
+    private final TransactionTemplate transactionTemplate;
+
+    public SyncPipeline(AzureDevOpsClient azureClient,
+                        CommentFetcher commentFetcher,
+                        AzureResponseCache responseCache,
+                        WorkItemMapper mapper,
+                        WorkItemBulkWriter bulkWriter,
+                        EmbeddingJobDao embeddingJobDao,
+                        WorkItemDao workItemDao,
+                        SyncProperties syncProps,
+                        TransactionTemplate transactionTemplate) {
+        this.azureClient = azureClient;
+        this.commentFetcher = commentFetcher;
+        this.responseCache = responseCache;
+        this.mapper = mapper;
+        this.bulkWriter = bulkWriter;
+        this.embeddingJobDao = embeddingJobDao;
+        this.workItemDao = workItemDao;
+        this.syncProps = syncProps;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public Result run(String org, String project, List<Integer> ids, Long syncConfigId,
+                      WorkItemBulkWriter.Mode writeMode, CommentMode commentMode, ChunkListener listener,
+                      SyncLease lease, SyncMetrics.Timings timings) {
+        if (ids.isEmpty()) {
+            return new Result(0, 0, 0);
+        }
+
+        int capacity = Math.max(1, syncProps.pipelineQueueCapacity());
+        BlockingQueue<FetchedBatch> fetched = new ArrayBlockingQueue<>(capacity);
+        BlockingQueue<MappedBatch> mapped = new ArrayBlockingQueue<>(capacity);
+
+        long startTime = System.currentTimeMillis();
+        CommentStats commentStats = new CommentStats();
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            Future<?> fetchStage = executor.submit(() -> {
+                try {
+                    // Time spent blocked on a full queue belongs to the slower stage downstream
+                    long[] requestStart = {System.nanoTime()};
+                    azureClient.forEachWorkItemRecordBatch(org, project, ids, batch -> {
+                        timings.record(SyncStage.FETCH, System.nanoTime() - requestStart[0]);
+                        put(fetched, new FetchedBatch(batch));
+                        requestStart[0] = System.nanoTime();
+                    });
+                } finally {
+                    put(fetched, END_OF_FETCH);
+                }
+                return null;
+            });
+
+            Future<?> mapStage = executor.submit(() -> {
+                try {
+                    for (FetchedBatch batch = fetched.take(); batch != END_OF_FETCH; batch = fetched.take()) {
+                        put(mapped, mapBatch(org, project, batch, syncConfigId, commentMode, commentStats, timings));
+                    }
+                } finally {
+                    put(mapped, END_OF_MAPPING);
+                }
+                return null;
+            });
+
+            // Persist stage runs here, one transaction per batch
+            int itemsPersisted = 0;
+            int itemsUnchanged = 0;
+            int commentsSynced = 0;
+            while (true) {
+                MappedBatch batch = mapped.take();
+                if (batch == END_OF_MAPPING) {
+                    break;
+                }
+                List<WorkItemComment> batchComments = batch.comments().values().stream()
+                        .flatMap(List::stream)
+                        .toList();
+                // Stop without writing once another instance may own the run; the stages are cancelled below
+                lease.check();
+                timings.time(SyncStage.PERSIST, () -> transactionTemplate.executeWithoutResult(
+                        status -> persistBatch(batch, batchComments, writeMode, listener)));
+                responseCache.putAll(batch.commentValidators());
+
+                if (itemsPersisted + itemsUnchanged == 0) {
+                    log.info("First batch of {} items persisted after {}ms",
+                            batch.items().size() + batch.unchangedIds().size(), System.currentTimeMillis() - startTime);
+                }
+                itemsPersisted += batch.items().size();
+                itemsUnchanged += batch.unchangedIds().size();
+                commentsSynced += batchComments.size();
+            }
+
+            awaitStage(mapStage);
+            awaitStage(fetchStage);
+
+            log.info("Pipeline finished: {} items written, {} unchanged, {} comments in {}ms (comment threads: "
+                            + "{} full, {} latest only, {} skipped, {} unchanged on revalidation)",
+                    itemsPersisted, itemsUnchanged, commentsSynced, System.currentTimeMillis() - startTime,
+                    commentStats.full.get(), commentStats.latest.get(), commentStats.skipped.get(),
+                    commentStats.unchanged.get());
+            return new Result(itemsPersisted, itemsUnchanged, commentsSynced);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Sync pipeline interrupted", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void persistBatch(MappedBatch batch, List<WorkItemComment> comments,
+                              WorkItemBulkWriter.Mode writeMode, ChunkListener listener) {
+        int itemRows = bulkWriter.upsertWorkItems(batch.items(), writeMode);
+        int commentRows = bulkWriter.upsertComments(comments, writeMode);
+        log.debug("Persisted batch ({}): {} work item rows, {} comment rows, {} items unchanged",
+                writeMode, itemRows, commentRows, batch.unchangedIds().size());
+
+        if (!batch.items().isEmpty()) {
+            embeddingJobDao.enqueue(batch.items());
+        }
+        List<Integer> itemIds = new ArrayList<>(batch.items().size() + batch.unchangedIds().size());
+        batch.items().forEach(item -> itemIds.add(item.id()));
+        itemIds.addAll(batch.unchangedIds());
+        listener.onChunkPersisted(itemIds, batch.unchangedIds().size(), comments.size());
+    }
+
+    private MappedBatch mapBatch(String org, String project, FetchedBatch batch, Long syncConfigId,
+                                 CommentMode commentMode, CommentStats commentStats, SyncMetrics.Timings timings) {
+        long mapStart = System.nanoTime();
+        List<WorkItem> items = new ArrayList<>(batch.items().size());
+        for (AzureWorkItemRecord record : batch.items()) {
+            items.add(mapper.mapWorkItem(record, syncConfigId));
+        }
+        timings.record(SyncStage.MAP, System.nanoTime() - mapStart);
+
+        Map<Integer, WorkItemWatermark> stored = new HashMap<>();
+        Integer[] ids = items.stream().map(WorkItem::id).toArray(Integer[]::new);
+        for (WorkItemWatermark watermark : workItemDao.findWatermarks(syncConfigId, ids)) {
+            stored.put(watermark.id(), watermark);
+        }
+        List<WorkItem> changed = new ArrayList<>(items.size());
+        List<Integer> unchangedIds = new ArrayList<>();
+        for (WorkItem item : items) {
+            WorkItemWatermark previous = stored.get(item.id());
+            if (previous != null && previous.watermark() != null
+                    && previous.watermark().equals(item.watermark())
+                    && Objects.equals(previous.commentCount(), item.commentCount())) {
+                unchangedIds.add(item.id());
+            } else {
+                changed.add(item);
+            }
+        }
+
+        Map<Integer, List<WorkItemComment>> comments = new HashMap<>();
+        CommentFetcher.Result fetched = timings.time(SyncStage.COMMENTS, () -> commentFetcher.fetch(
+                org, project, String.valueOf(syncConfigId),
+                planCommentRequests(items, stored, commentMode, commentStats)));
+        commentStats.unchanged.addAndGet(fetched.unchanged());
+        fetched.comments().forEach((workItemId, azureComments) -> {
+            List<WorkItemComment> mappedComments = new ArrayList<>(azureComments.size());
+            for (AzureComment ac : azureComments) {
+                mappedComments.add(mapper.mapComment(ac, workItemId, syncConfigId));
+            }
+            comments.put(workItemId, mappedComments);
+        });
+        return new MappedBatch(changed, unchangedIds, comments, fetched.validators());
+    }
+
+    /**
+     * Decides per item whether to skip comments, pull only the newest ones, or fetch the whole thread.
+     * Stored counts are read before this batch is persisted, so they describe the previous sync. Whole threads
+     * of items that already have a row may come back unchanged, see {@link CommentFetcher#ALL_IF_CHANGED}.
+     */
+    private Map<Integer, Integer> planCommentRequests(List<WorkItem> items, Map<Integer, WorkItemWatermark> stored,
+                                                      CommentMode commentMode, CommentStats commentStats) {
+        Map<Integer, Integer> requests = new HashMap<>();
+        for (WorkItem item : items) {
+            Integer count = item.commentCount();
+            WorkItemWatermark previous = stored.get(item.id());
+            int whole = previous != null ? CommentFetcher.ALL_IF_CHANGED : CommentFetcher.ALL;
+            if (count == null) {
+                requests.put(item.id(), whole);
+                commentStats.full.incrementAndGet();
+                continue;
+            }
+            if (count == 0) {
+                commentStats.skipped.incrementAndGet();
+                continue;
+            }
+            Integer storedCount = commentMode == CommentMode.CHANGED && previous != null
+                    ? previous.commentCount()
+                    : null;
+            if (storedCount == null || count < storedCount
+                    || count - storedCount > AzureDevOpsClient.COMMENT_PAGE_SIZE) {
+                requests.put(item.id(), whole);
+                commentStats.full.incrementAndGet();
+            } else if (count > storedCount) {
+                requests.put(item.id(), count - storedCount);
+                commentStats.latest.incrementAndGet();
+            } else {
+                commentStats.skipped.incrementAndGet();
+            }
+        }
+        return requests;
+    }
+
+    private static void awaitStage(Future<?> stage) throws InterruptedException {
+        try {
+            stage.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException("Sync pipeline stage failed", e.getCause());
+        }
+    }
+
+    private static <T> void put(BlockingQueue<T> queue, T element) {
+        try {
+            queue.put(element);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Sync pipeline interrupted", e);
+        }
+    }
+
+    /**
+     * How much of each comment thread a run needs.
+     */
+    public enum CommentMode {
+
+        /** Fetch the full thread of every item that has comments. Picks up edits to existing comments. */
+        ALL,
+
+        /**
+         * Compare {@code System.CommentCount} against the stored count: skip unchanged threads, fetch only
+         * the newest comments when the count grew, and the full thread when it shrank or is unknown.
+         */
+        CHANGED
+    }
+
+    /**
+     * Called inside each batch transaction, so whatever it records commits atomically with the batch.
+     */
+    @FunctionalInterface
+    public interface ChunkListener {
+        void onChunkPersisted(List<Integer> itemIds, int unchangedCount, int commentCount);
+    }
+
+    public record Result(int itemsPersisted, int itemsUnchanged, int commentsSynced) {}
+
+    private static final class CommentStats {
+        final AtomicInteger full = new AtomicInteger();
+        final AtomicInteger latest = new AtomicInteger();
+        final AtomicInteger skipped = new AtomicInteger();
+        final AtomicInteger unchanged = new AtomicInteger();
+    }
+
+    private record FetchedBatch(List<AzureWorkItemRecord> items) {}
+
+    private record MappedBatch(List<WorkItem> items, List<Integer> unchangedIds,
+                               Map<Integer, List<WorkItemComment>> comments,
+                               List<AzureResponseCache.Pending> commentValidators) {}
+}
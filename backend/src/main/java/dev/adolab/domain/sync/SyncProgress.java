@@ -0,0 +1,19 @@
+package dev.adolab.domain.sync;
+
+import java.time.LocalDateTime;
+
+/**
+ * Live state of a sync run. {@code runId} and the counts are only known once planning finished;
+ * {@code etaSeconds} once at least one chunk was persisted.
+ */
+public record SyncProgress(
+        Long syncConfigId,
+        Long runId,
+        String mode,
+        String phase,
+        int processed,
+        int total,
+        double itemsPerSecond,
+        Long etaSeconds,
+        LocalDateTime updatedAt
+) {}
@@ -0,0 +1,152 @@
+package dev.adolab.domain.sync;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.adolab.config.SyncProperties;
+import dev.adolab.domain.workitem.entity.SyncRun;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Progress of the sync runs executing on this instance, one per sync config.
+ * <p>
+ * With {@code sync.cluster-lock} enabled, snapshots are also published to Redis at most once per second,
+ * so other instances can report progress of a run they are only waiting on.
+ */
+@Component
+public class SyncProgressTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(SyncProgressTracker.class);
+
+    static final String PLANNING = "PLANNING";
+
+    private static final String PROGRESS_KEY = "sync:progress:";
+    private static final Duration PROGRESS_TTL = Duration.ofMinutes(10);
+    private static final long PUBLISH_INTERVAL_NANOS = Duration.ofSeconds(1).toNanos();
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final SyncProperties syncProps;
+    private final Map<Long, RunProgress> running = new ConcurrentHashMap<>();
+
+    public SyncProgressTracker(RedisTemplate<String, Object> redisTemplate,
+                               ObjectMapper objectMapper,
+                               SyncProperties syncProps) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.syncProps = syncProps;
+    }
+
+    public void begin(Long syncConfigId) {
+        RunProgress progress = new RunProgress(syncConfigId);
+        running.put(syncConfigId, progress);
+        publish(progress, true);
+    }
+
+    public void planned(SyncRun run) {
+        RunProgress progress = running.get(run.syncConfigId());
+        if (progress == null) {
+            return;
+        }
+        progress.runId = run.id();
+        progress.mode = run.mode();
+        progress.phase = run.phase();
+        progress.total = run.targetIds().length;
+        progress.processed.set(run.processedIds().length);
+        progress.processedAtStart = run.processedIds().length;
+        progress.fetchStartedNanos = System.nanoTime();
+        publish(progress, true);
+    }
+
+    public void advance(Long syncConfigId, int items) {
+        RunProgress progress = running.get(syncConfigId);
+        if (progress != null) {
+            progress.processed.addAndGet(items);
+            publish(progress, false);
+        }
+    }
+
+    public void phase(Long syncConfigId, SyncPhase phase) {
+        RunProgress progress = running.get(syncConfigId);
+        if (progress != null) {
+            progress.phase = phase.name();
+            publish(progress, true);
+        }
+    }
+
+    public void end(Long syncConfigId) {
+        running.remove(syncConfigId);
+        if (syncProps.clusterLock()) {
+            try {
+                redisTemplate.delete(PROGRESS_KEY + syncConfigId);
+            } catch (RuntimeException e) {
+                log.debug("Failed to clear sync progress for config {}: {}", syncConfigId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Progress of the run for {@code syncConfigId}, wherever it executes, or {@code null} if none is running.
+     */
+    public SyncProgress get(Long syncConfigId) {
+        RunProgress progress = running.get(syncConfigId);
+        if (progress != null) {
+            return progress.snapshot();
+        }
+        if (!syncProps.clusterLock()) {
+            return null;
+        }
+        Object value = redisTemplate.opsForValue().get(PROGRESS_KEY + syncConfigId);
+        return value != null ? objectMapper.convertValue(value, SyncProgress.class) : null;
+    }
+
+    private void publish(RunProgress progress, boolean force) {
+        if (!syncProps.clusterLock()) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (!force && now - progress.lastPublishedNanos < PUBLISH_INTERVAL_NANOS) {
+            return;
+        }
+        progress.lastPublishedNanos = now;
+        try {
+            redisTemplate.opsForValue().set(PROGRESS_KEY + progress.syncConfigId, progress.snapshot(), PROGRESS_TTL);
+        } catch (RuntimeException e) {
+            log.debug("Failed to publish sync progress for config {}: {}", progress.syncConfigId, e.getMessage());
+        }
+    }
+
+    private static final class RunProgress {
+
+        final Long syncConfigId;
+        final AtomicInteger processed = new AtomicInteger();
+        volatile Long runId;
+        volatile String mode;
+        volatile String phase = PLANNING;
+        volatile int total;
+        volatile int processedAtStart;
+        volatile long fetchStartedNanos;
+        volatile long lastPublishedNanos;
+
+        RunProgress(Long syncConfigId) {
+            this.syncConfigId = syncConfigId;
+        }
+
+        // Throughput only counts this attempt, so a resumed run does not report its checkpoint as speed
+        SyncProgress snapshot() {
+            int done = processed.get();
+            double seconds = fetchStartedNanos > 0 ? (System.nanoTime() - fetchStartedNanos) / 1e9 : 0;
+            double rate = seconds > 0 ? (done - processedAtStart) / seconds : 0;
+            Long eta = rate > 0 ? Math.round(Math.max(0, total - done) / rate) : null;
+            return new SyncProgress(syncConfigId, runId, mode, phase, done, total,
+                    Math.round(rate * 10) / 10.0, eta, LocalDateTime.now());
+        }
+    }
+}
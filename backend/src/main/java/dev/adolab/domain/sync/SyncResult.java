@@ -1,5 +1,7 @@
 package dev.adolab.domain.sync;
 
+import java.util.List;
+
 public record SyncResult(
         Long syncConfigId,
         String status,
@@ -7,6 +9,8 @@ public record SyncResult(
         int itemsAdded,
         int itemsUpdated,
         int itemsDeleted,
+        int itemsUnchanged,
         int commentsSynced,
-        String duration
+        String duration,
+        List<SyncStageTiming> stages
 ) {}
@@ -0,0 +1,21 @@
+package dev.adolab.domain.sync;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record SyncRunReport(
+        Long id,
+        String mode,
+        String status,
+        String phase,
+        int newCount,
+        int changedCount,
+        int deletedCount,
+        int itemsPersisted,
+        int commentsSynced,
+        int itemsUnchanged,
+        String error,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt,
+        List<SyncStageTiming> stages
+) {}
@@ -0,0 +1,20 @@
+package dev.adolab.domain.sync;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record SyncScheduleStatus(
+        boolean enabled,
+        boolean paused,
+        List<ConfigSchedule> configs
+) {
+
+    public record ConfigSchedule(
+            Long syncConfigId,
+            String areaPath,
+            String interval,
+            LocalDateTime nextRunAt,
+            LocalDateTime lastRunAt,
+            Integer lastChanges
+    ) {}
+}
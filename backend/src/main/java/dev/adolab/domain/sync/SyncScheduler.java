@@ -0,0 +1,254 @@
+package dev.adolab.domain.sync;
+
+import dev.adolab.config.SyncProperties;
+import dev.adolab.config.SyncScheduleProperties;
+import dev.adolab.domain.workitem.dao.SyncConfigDao;
+import dev.adolab.domain.workitem.entity.SyncConfig;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Runs syncs for every config in the background, each with its own interval that follows the amount of
+ * change under its area path.
+ * <p>
+ * A run that touched at least {@code sync.schedule.busy-threshold} items halves the interval, a run that
+ * found nothing multiplies it by {@code backoff-factor}, always within {@code min-interval} and
+ * {@code max-interval}. Every wait is jittered so nodes started together drift apart, and a run is skipped
+ * when another node already synced within the current interval. The pause switch is kept in Redis when the
+ * cluster lock is enabled, so pausing one node pauses all of them.
+ */
+@Component
+public class SyncScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(SyncScheduler.class);
+
+    private static final String PAUSED_KEY = "sync:schedule:paused";
+
+    private final SyncConfigRegistry configRegistry;
+    private final SyncConfigDao syncConfigDao;
+    private final SyncOrchestrator syncOrchestrator;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final SyncProperties syncProps;
+    private final SyncScheduleProperties props;
+
+    private final Map<Long, ConfigState> states = new ConcurrentHashMap<>();
+    private volatile boolean localPaused;
+    private volatile Thread loop;
+
+    public SyncScheduler(SyncConfigRegistry configRegistry,
+                         SyncConfigDao syncConfigDao,
+                         SyncOrchestrator syncOrchestrator,
+                         RedisTemplate<String, Object> redisTemplate,
+                         SyncProperties syncProps,
+                         SyncScheduleProperties props) {
+        this.configRegistry = configRegistry;
+        this.syncConfigDao = syncConfigDao;
+        this.syncOrchestrator = syncOrchestrator;
+        this.redisTemplate = redisTemplate;
+        this.syncProps = syncProps;
+        this.props = props;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!props.enabled()) {
+            log.info("Background sync scheduler is disabled");
+            return;
+        }
+        loop = Thread.ofVirtual().name("sync-scheduler").start(this::runLoop);
+        log.info("Background sync scheduler started (initial interval {}s, bounds {}s-{}s)",
+                props.initialInterval().toSeconds(), props.minInterval().toSeconds(), props.maxInterval().toSeconds());
+    }
+
+    @PreDestroy
+    public void stop() {
+        Thread current = loop;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    public void pause() {
+        localPaused = true;
+        if (syncProps.clusterLock()) {
+            redisTemplate.opsForValue().set(PAUSED_KEY, true);
+        }
+        log.info("Background sync scheduler paused");
+    }
+
+    public void resume() {
+        localPaused = false;
+        if (syncProps.clusterLock()) {
+            redisTemplate.delete(PAUSED_KEY);
+        }
+        log.info("Background sync scheduler resumed");
+    }
+
+    public SyncScheduleStatus status() {
+        List<SyncScheduleStatus.ConfigSchedule> configs = new ArrayList<>();
+        for (SyncConfig config : configRegistry.all()) {
+            ConfigState state = states.get(config.id());
+            configs.add(state == null
+                    ? new SyncScheduleStatus.ConfigSchedule(config.id(), config.areaPath(), null, null, null, null)
+                    : new SyncScheduleStatus.ConfigSchedule(config.id(), config.areaPath(), state.interval.toString(),
+                            state.nextRunAt, state.lastRunAt, state.lastChanges));
+        }
+        return new SyncScheduleStatus(props.enabled(), isPaused(), configs);
+    }
+
+    private void runLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                List<SyncConfig> due = dueConfigs(LocalDateTime.now());
+                if (!due.isEmpty() && !isPaused()) {
+                    runDue(due);
+                } else if (!due.isEmpty()) {
+                    due.forEach(config -> reschedule(states.get(config.id())));
+                }
+                Thread.sleep(untilNextRun());
+            } catch (InterruptedException e) {
+                return;
+            } catch (Exception e) {
+                log.warn("Background sync scheduler iteration failed: {}", e.getMessage());
+                try {
+                    Thread.sleep(props.minInterval());
+                } catch (InterruptedException ie) {
+                    return;
+                }
+            }
+        }
+    }
+
+    // New configs start after a jittered initial interval, so nodes started together spread out
+    private List<SyncConfig> dueConfigs(LocalDateTime now) {
+        List<SyncConfig> configs = configRegistry.all();
+        states.keySet().removeIf(id -> configs.stream().noneMatch(c -> c.id().equals(id)));
+
+        List<SyncConfig> due = new ArrayList<>();
+        for (SyncConfig config : configs) {
+            ConfigState state = states.computeIfAbsent(config.id(), id -> {
+                ConfigState created = new ConfigState(clamp(props.initialInterval()));
+                reschedule(created);
+                return created;
+            });
+            if (state.nextRunAt.isAfter(now)) {
+                continue;
+            }
+            // Another node (or a manual run) synced recently; wait a full interval from that run instead
+            SyncConfig fresh = syncConfigDao.findById(config.id());
+            if (fresh != null && fresh.lastSynced() != null && fresh.lastSynced().plus(state.interval).isAfter(now)) {
+                state.nextRunAt = fresh.lastSynced().plus(withJitter(state.interval));
+                continue;
+            }
+            due.add(config);
+        }
+        return due;
+    }
+
+    private void runDue(List<SyncConfig> due) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        due.forEach(config -> states.get(config.id()).lastRunAt = startedAt);
+        for (SyncResult result : syncOrchestrator.sync(due)) {
+            ConfigState state = states.get(result.syncConfigId());
+            if (state == null) {
+                continue;
+            }
+            Duration previous = state.interval;
+            if (!"completed".equals(result.status())) {
+                // Back off on failures too, so an Azure outage does not turn into a retry storm
+                state.interval = clamp(scale(previous, props.backoffFactor()));
+                state.lastChanges = null;
+            } else {
+                int changes = result.itemsSynced() + result.itemsDeleted();
+                state.lastChanges = changes;
+                if (changes >= props.busyThreshold()) {
+                    state.interval = clamp(previous.dividedBy(2));
+                } else if (changes == 0) {
+                    state.interval = clamp(scale(previous, props.backoffFactor()));
+                }
+            }
+            reschedule(state);
+            log.info("Scheduled sync for config {} {} with {} changes, next interval {}s (was {}s)",
+                    result.syncConfigId(), result.status(), state.lastChanges,
+                    state.interval.toSeconds(), previous.toSeconds());
+        }
+    }
+
+    private void reschedule(ConfigState state) {
+        state.nextRunAt = LocalDateTime.now().plus(withJitter(state.interval));
+    }
+
+    // Capped so configs added at runtime are noticed within one minimum interval
+    private Duration untilNextRun() {
+        LocalDateTime now = LocalDateTime.now();
+        Duration wait = props.minInterval();
+        for (ConfigState state : states.values()) {
+            Duration untilDue = Duration.between(now, state.nextRunAt);
+            if (untilDue.compareTo(wait) < 0) {
+                wait = untilDue;
+            }
+        }
+        return wait.isNegative() ? Duration.ZERO : wait;
+    }
+
+    private boolean isPaused() {
+        if (localPaused) {
+            return true;
+        }
+        if (!syncProps.clusterLock()) {
+            return false;
+        }
+        try {
+            return Boolean.TRUE.equals(redisTemplate.hasKey(PAUSED_KEY));
+        } catch (RuntimeException e) {
+            log.warn("Could not read the scheduler pause switch: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private Duration withJitter(Duration base) {
+        double jitter = Math.max(0, Math.min(props.jitter(), 1));
+        if (jitter == 0) {
+            return base;
+        }
+        return scale(base, ThreadLocalRandom.current().nextDouble(1 - jitter, 1 + jitter));
+    }
+
+    private Duration clamp(Duration value) {
+        if (value.compareTo(props.minInterval()) < 0) {
+            return props.minInterval();
+        }
+        if (value.compareTo(props.maxInterval()) > 0) {
+            return props.maxInterval();
+        }
+        return value;
+    }
+
+    private static Duration scale(Duration value, double factor) {
+        return Duration.ofMillis((long) (value.toMillis() * factor));
+    }
+
+    private static final class ConfigState {
+        volatile Duration interval;
+        volatile LocalDateTime nextRunAt;
+        volatile LocalDateTime lastRunAt;
+        volatile Integer lastChanges;
+
+        ConfigState(Duration interval) {
+            this.interval = interval;
+        }
+    }
+}
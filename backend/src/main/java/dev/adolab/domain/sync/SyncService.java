@@ -1,75 +1,105 @@
 package dev.adolab.domain.sync;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.adolab.domain.azure.AzureDevOpsClient;
-import dev.adolab.domain.azure.dto.AzureCommentListResponse;
 import dev.adolab.domain.azure.dto.AzureWiqlResponse;
-import dev.adolab.domain.azure.dto.AzureWorkItemResponse;
 import dev.adolab.domain.workitem.dao.SyncConfigDao;
+import dev.adolab.domain.workitem.dao.SyncRunDao;
+import dev.adolab.domain.workitem.dao.WorkItemBulkWriter;
 import dev.adolab.domain.workitem.dao.WorkItemCommentDao;
 import dev.adolab.domain.workitem.dao.WorkItemDao;
 import dev.adolab.domain.workitem.entity.SyncConfig;
-import dev.adolab.domain.workitem.entity.WorkItem;
-import dev.adolab.domain.workitem.entity.WorkItemComment;
-import dev.adolab.domain.ai.EmbeddingService;
+import dev.adolab.domain.workitem.entity.SyncRun;
+import dev.adolab.domain.workitem.entity.SyncRunSummary;
+import dev.adolab.domain.sync.collection.IntHashSet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import dev.adolab.config.AzureDevOpsProperties;
+import dev.adolab.config.SyncProperties;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
-import java.time.OffsetDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.ArrayList;
+import java.util.List;
 
 @Service
 public class SyncService {
 
     private static final Logger log = LoggerFactory.getLogger(SyncService.class);
 
+    private static final TypeReference<List<SyncStageTiming>> STAGES_TYPE = new TypeReference<>() {};
+
     private final AzureDevOpsClient azureClient;
     private final AzureDevOpsProperties azureProps;
+    private final SyncProperties syncProps;
     private final SyncConfigDao syncConfigDao;
     private final WorkItemDao workItemDao;
     private final WorkItemCommentDao commentDao;
+    private final ChangeDetector changeDetector;
+    private final SyncPipeline syncPipeline;
+    private final SyncRunDao syncRunDao;
+    private final SyncMetrics syncMetrics;
+    private final SyncProgressTracker progressTracker;
+    private final ClosureMaintainer closureMaintainer;
+    private final RollupMaintainer rollupMaintainer;
     private final ObjectMapper objectMapper;
-    private final EmbeddingService embeddingService;
+    private final TransactionTemplate transactionTemplate;
 
     public SyncService(AzureDevOpsClient azureClient,
                        AzureDevOpsProperties azureProps,
+                       SyncProperties syncProps,
                        SyncConfigDao syncConfigDao,
                        WorkItemDao workItemDao,
                        WorkItemCommentDao commentDao,
+                       ChangeDetector changeDetector,
+                       SyncPipeline syncPipeline,
+                       SyncRunDao syncRunDao,
+                       SyncMetrics syncMetrics,
+                       SyncProgressTracker progressTracker,
+                       ClosureMaintainer closureMaintainer,
+                       RollupMaintainer rollupMaintainer,
                        ObjectMapper objectMapper,
-                       EmbeddingService embeddingService) {
+                       TransactionTemplate transactionTemplate) {
         this.azureClient = azureClient;
         this.azureProps = azureProps;
+        this.syncProps = syncProps;
         this.syncConfigDao = syncConfigDao;
         this.workItemDao = workItemDao;
         this.commentDao = commentDao;
+        this.changeDetector = changeDetector;
+        this.syncPipeline = syncPipeline;
+        this.syncRunDao = syncRunDao;
+        this.syncMetrics = syncMetrics;
+        this.progressTracker = progressTracker;
+        this.closureMaintainer = closureMaintainer;
+        this.rollupMaintainer = rollupMaintainer;
         this.objectMapper = objectMapper;
-        this.embeddingService = embeddingService;
+        this.transactionTemplate = transactionTemplate;
     }
 
-    public SyncConfig getOrCreateDefaultConfig() {
-        List<SyncConfig> configs = syncConfigDao.findAll();
-        if (!configs.isEmpty()) {
-            return configs.getFirst();
-        }
-        String areaPath = azureProps.areaPath();
-        if (areaPath == null || areaPath.isBlank()) {
-            throw new IllegalStateException("azure.devops.area-path is not configured in application.yml");
-        }
-        syncConfigDao.insert(areaPath, areaPath);
-        return syncConfigDao.findAll().getFirst();
+    /**
+     * Runs a sync as a sequence of short transactions recorded in {@code sync_run}.
+     * <p>
+     * Every persisted chunk commits together with its checkpoint, so a run that fails or dies part way
+     * is resumed by the next call instead of starting over. The sync cursor only advances once the run
+     * completes. Each attempt stores its per-stage timings on the run, see {@link SyncMetrics}.
+     */
+    public SyncResult sync(Long syncConfigId) {
+        return sync(syncConfigId, SyncLease.NONE);
     }
 
-    @Transactional
-    public SyncResult sync(Long syncConfigId) {
+    /**
+     * Same as {@link #sync(Long)}, but stops before the next persisted chunk or the finalize step once
+     * {@code lease} is lost. The run is then left as it is for the new owner to resume.
+     */
+    public SyncResult sync(Long syncConfigId, SyncLease lease) {
         long startTime = System.currentTimeMillis();
+        LocalDateTime startedAt = LocalDateTime.now();
         SyncConfig config = syncConfigDao.findById(syncConfigId);
         if (config == null) {
             throw new IllegalArgumentException("Sync config not found: " + syncConfigId);
@@ -78,293 +108,283 @@ public class SyncService {
         String org = azureProps.organization();
         String project = azureProps.project();
 
-        // Step 1: Get all work item IDs under the area path
-        Set<Integer> azureIds = fetchWorkItemIdsByAreaPath(org, project, config.areaPath());
-        log.info("Found {} work items under area path '{}'", azureIds.size(), config.areaPath());
-
-        boolean isIncremental = config.lastSynced() != null;
-        int itemsAdded = 0;
-        int itemsUpdated = 0;
-        int itemsDeleted = 0;
-        int commentsSynced = 0;
-
-        log.info("Sync mode: {} (lastSynced={})", isIncremental ? "INCREMENTAL" : "FULL", config.lastSynced());
-
-        if (isIncremental) {
-            // Incremental sync
-            Set<Integer> existingIds = new HashSet<>(workItemDao.findAllIds(syncConfigId));
-            log.info("Existing items in DB: {}", existingIds.size());
-
-            // Detect new items
-            Set<Integer> newIds = new HashSet<>(azureIds);
-            newIds.removeAll(existingIds);
-
-            // Detect deleted items
-            Set<Integer> deletedIds = new HashSet<>(existingIds);
-            deletedIds.removeAll(azureIds);
-
-            // Detect changed items via watermark comparison
-            Set<Integer> changedIds = new HashSet<>();
-            if (!existingIds.isEmpty()) {
-                List<Integer> existingInAzure = new ArrayList<>(existingIds);
-                existingInAzure.retainAll(azureIds);
-                long wmStart = System.currentTimeMillis();
-                changedIds = detectChangedByWatermark(org, project, existingInAzure, syncConfigId);
-                log.info("Watermark check: {} of {} items changed (took {}ms)",
-                        changedIds.size(), existingInAzure.size(), System.currentTimeMillis() - wmStart);
-            }
+        progressTracker.begin(syncConfigId);
+        try {
+            return run(org, project, config, startedAt, startTime, lease);
+        } finally {
+            progressTracker.end(syncConfigId);
+        }
+    }
 
-            log.info("Incremental summary: new={}, changed={}, deleted={}", newIds.size(), changedIds.size(), deletedIds.size());
-
-            // Fetch and upsert changed + new items
-            Set<Integer> toFetch = new HashSet<>();
-            toFetch.addAll(newIds);
-            toFetch.addAll(changedIds);
-
-            if (!toFetch.isEmpty()) {
-                List<AzureWorkItemResponse> items = azureClient.getWorkItems(
-                        org, project, new ArrayList<>(toFetch));
-                Map<Integer, WorkItem> syncedItems = new HashMap<>();
-                for (AzureWorkItemResponse item : items) {
-                    WorkItem wi = mapWorkItem(item, syncConfigId);
-                    workItemDao.upsert(wi);
-                    syncedItems.put(wi.id(), wi);
-                }
-                itemsAdded = newIds.size();
-                itemsUpdated = changedIds.size();
-
-                // Sync comments + generate embeddings for changed items
-                for (Integer itemId : toFetch) {
-                    List<WorkItemComment> comments = syncCommentsForItemAndReturn(org, project, itemId, syncConfigId);
-                    commentsSynced += comments.size();
-                    generateEmbeddingSafe(syncedItems.get(itemId), comments);
-                }
-            }
+    private SyncResult run(String org, String project, SyncConfig config, LocalDateTime startedAt,
+                           long startTime, SyncLease lease) {
+        Long syncConfigId = config.id();
+        LocalDateTime resumeCutoff = startedAt.minus(syncProps.resumeMaxAge());
+        syncRunDao.abandonStale(syncConfigId, resumeCutoff);
+        SyncRun run = syncRunDao.findResumable(syncConfigId, resumeCutoff);
+        SyncMetrics.Timings timings;
+        if (run != null) {
+            log.info("Resuming {} sync run {} in phase {}: {} of {} items already persisted",
+                    run.mode(), run.id(), run.phase(), run.processedIds().length, run.targetIds().length);
+            syncRunDao.markResumed(run.id());
+            timings = syncMetrics.startRun(SyncMode.valueOf(run.mode()));
+        } else {
+            long planStart = System.nanoTime();
+            run = planRun(org, project, config, startedAt);
+            timings = syncMetrics.startRun(SyncMode.valueOf(run.mode()));
+            timings.record(SyncStage.PLAN, System.nanoTime() - planStart);
+        }
+        progressTracker.planned(run);
 
-            // Delete removed items
-            if (!deletedIds.isEmpty()) {
-                for (Integer deletedId : deletedIds) {
-                    commentDao.deleteByWorkItemId(deletedId, syncConfigId);
-                }
-                workItemDao.deleteByIds(new ArrayList<>(deletedIds), syncConfigId);
-                itemsDeleted = deletedIds.size();
+        try {
+            return execute(org, project, run, startTime, timings, lease);
+        } catch (RuntimeException e) {
+            if (lease.isLost()) {
+                // The run may already have been taken over, so leave its row to the new owner
+                log.warn("Stopped sync run {} for config {}: {}", run.id(), syncConfigId, e.getMessage());
+                syncMetrics.recordRun(SyncMode.valueOf(run.mode()), "abandoned",
+                        System.currentTimeMillis() - startTime, 0, 0);
+                throw e;
             }
+            syncRunDao.markFailed(run.id(), e.getMessage());
+            syncRunDao.updateStages(run.id(), writeStages(timings.breakdown()));
+            syncMetrics.recordRun(SyncMode.valueOf(run.mode()), "failed",
+                    System.currentTimeMillis() - startTime, 0, 0);
+            throw e;
+        }
+    }
 
+    /**
+     * Most recent runs of a config, newest first.
+     */
+    public List<SyncRunReport> history(Long syncConfigId, int limit) {
+        List<SyncRunReport> reports = new ArrayList<>();
+        for (SyncRunSummary run : syncRunDao.findRecent(syncConfigId, Math.max(1, Math.min(limit, 200)))) {
+            reports.add(new SyncRunReport(run.id(), run.mode(), run.status(), run.phase(),
+                    run.newCount(), run.changedCount(), run.deletedCount(), run.itemsPersisted(),
+                    run.commentsSynced(), run.itemsUnchanged(), run.error(), run.startedAt(), run.finishedAt(),
+                    readStages(run.stages())));
+        }
+        return reports;
+    }
+
+    private SyncRun planRun(String org, String project, SyncConfig config, LocalDateTime startedAt) {
+        Long syncConfigId = config.id();
+        SyncMode mode = resolveMode(config, startedAt);
+        log.info("Sync mode: {} (lastSynced={}, lastReconciled={})",
+                mode, config.lastSynced(), config.lastReconciled());
+
+        List<Integer> toFetch;
+        List<Integer> deletedIds = List.of();
+        int newCount = 0;
+        int changedCount = 0;
+
+        if (mode == SyncMode.FULL) {
+            IntHashSet azureIds = fetchWorkItemIdsByAreaPath(org, project, config.areaPath());
+            log.info("Found {} work items under area path '{}'", azureIds.size(), config.areaPath());
+            toFetch = azureIds.toList();
         } else {
-            // Full sync
-            List<AzureWorkItemResponse> items = azureClient.getWorkItems(
-                    org, project, new ArrayList<>(azureIds));
-
-            Map<Integer, WorkItem> syncedItems = new HashMap<>();
-            for (AzureWorkItemResponse item : items) {
-                WorkItem wi = mapWorkItem(item, syncConfigId);
-                workItemDao.upsert(wi);
-                syncedItems.put(wi.id(), wi);
+            ChangeDetector.ChangeSet changes = null;
+            if (mode == SyncMode.DELTA) {
+                // Delta sync: only items whose ChangedDate moved past the cursor
+                IntHashSet changedSince = fetchWorkItemIdsChangedSince(org, project, config.areaPath(),
+                        config.lastSynced().minus(syncProps.deltaOverlap()));
+                if (changedSince.size() < AzureDevOpsClient.WIQL_MAX_RESULTS) {
+                    log.info("Found {} work items changed since {}", changedSince.size(), config.lastSynced());
+                    changes = changeDetector.detectDelta(org, project, changedSince, syncConfigId);
+                } else {
+                    log.info("Delta query hit the WIQL result limit, falling back to INCREMENTAL");
+                    mode = SyncMode.INCREMENTAL;
+                }
+            }
+            if (mode == SyncMode.INCREMENTAL) {
+                // Incremental sync: diff all Azure IDs and watermarks against the local copy
+                IntHashSet azureIds = fetchWorkItemIdsByAreaPath(org, project, config.areaPath());
+                log.info("Found {} work items under area path '{}'", azureIds.size(), config.areaPath());
+                changes = changeDetector.detect(org, project, azureIds, syncConfigId);
             }
-            itemsAdded = items.size();
 
-            // Sync all comments + generate embeddings
-            for (Integer itemId : azureIds) {
-                List<WorkItemComment> comments = syncCommentsForItemAndReturn(org, project, itemId, syncConfigId);
-                commentsSynced += comments.size();
-                generateEmbeddingSafe(syncedItems.get(itemId), comments);
+            log.info("{} summary: new={}, changed={}, deleted={}", mode,
+                    changes.newIds().size(), changes.changedIds().size(), changes.deletedIds().size());
+
+            toFetch = changes.idsToFetch();
+            deletedIds = changes.deletedIds().toList();
+            newCount = changes.newIds().size();
+            changedCount = changes.changedIds().size();
+        }
+
+        // The start time is the next delta cursor, so edits made while this run was in flight are picked up
+        Long runId = syncRunDao.insert(syncConfigId, mode.name(), SyncPhase.FETCHING.name(), startedAt,
+                toFetch.toArray(Integer[]::new), deletedIds.toArray(Integer[]::new), newCount, changedCount);
+        return syncRunDao.findById(runId);
+    }
+
+    private SyncResult execute(String org, String project, SyncRun run, long startTime,
+                               SyncMetrics.Timings timings, SyncLease lease) {
+        Long syncConfigId = run.syncConfigId();
+        SyncMode mode = SyncMode.valueOf(run.mode());
+
+        if (SyncPhase.valueOf(run.phase()) == SyncPhase.FETCHING) {
+            List<Integer> remaining = remainingIds(run);
+            if (!remaining.isEmpty()) {
+                WorkItemBulkWriter.Mode writeMode = mode == SyncMode.FULL
+                        ? WorkItemBulkWriter.Mode.COPY
+                        : WorkItemBulkWriter.Mode.BATCH;
+                // Reconciling runs refetch whole threads so edits to existing comments are picked up
+                SyncPipeline.CommentMode commentMode = mode == SyncMode.DELTA
+                        ? SyncPipeline.CommentMode.CHANGED
+                        : SyncPipeline.CommentMode.ALL;
+                syncPipeline.run(org, project, remaining, syncConfigId, writeMode, commentMode,
+                        (itemIds, unchangedCount, commentCount) -> {
+                            // Rolls the chunk back if the lock went away while it was being written
+                            lease.check();
+                            syncRunDao.checkpoint(run.id(), itemIds.toArray(Integer[]::new),
+                                    unchangedCount, commentCount);
+                            progressTracker.advance(syncConfigId, itemIds.size());
+                        },
+                        lease, timings);
             }
+            lease.check();
+            syncRunDao.updatePhase(run.id(), SyncPhase.DELETING.name());
+            progressTracker.phase(syncConfigId, SyncPhase.DELETING);
         }
 
-        // Update last synced
-        syncConfigDao.updateLastSynced(syncConfigId, LocalDateTime.now());
+        // Deletes, the hierarchy closure and rollups, the cursor and the run status commit together
+        timings.time(SyncStage.FINALIZE, () -> transactionTemplate.executeWithoutResult(status -> {
+            lease.check();
+            RollupMaintainer.Pending rollups = rollupMaintainer.begin(syncConfigId, run.deletedIds());
+            if (run.deletedIds().length > 0) {
+                commentDao.deleteByWorkItemIds(run.deletedIds(), syncConfigId);
+                workItemDao.deleteByIds(run.deletedIds(), syncConfigId);
+            }
+            closureMaintainer.refresh(syncConfigId, run.deletedIds(), rollups.since());
+            rollupMaintainer.complete(syncConfigId, rollups);
+            syncConfigDao.updateLastSynced(syncConfigId, run.cursorAt());
+            if (mode != SyncMode.DELTA) {
+                syncConfigDao.updateLastReconciled(syncConfigId, run.cursorAt());
+            }
+            lease.check();
+            syncRunDao.markCompleted(run.id());
+        }));
+        List<SyncStageTiming> stages = timings.breakdown();
+        syncRunDao.updateStages(run.id(), writeStages(stages));
+
+        SyncRun finished = syncRunDao.findById(run.id());
+        // Unchanged items were planned as new (FULL) or changed but turned out identical to the stored row
+        int itemsUnchanged = finished.itemsUnchanged();
+        int itemsAdded = mode == SyncMode.FULL ? finished.itemsPersisted() - itemsUnchanged : finished.newCount();
+        int itemsUpdated = mode == SyncMode.FULL ? 0 : Math.max(0, finished.changedCount() - itemsUnchanged);
+        int itemsDeleted = finished.deletedIds().length;
+        int commentsSynced = finished.commentsSynced();
 
         long duration = System.currentTimeMillis() - startTime;
         String durationStr = String.format("%.1fs", duration / 1000.0);
 
-        log.info("Sync completed for config {}: added={}, updated={}, deleted={}, comments={}, duration={}",
-                syncConfigId, itemsAdded, itemsUpdated, itemsDeleted, commentsSynced, durationStr);
+        log.info("Sync completed for config {}: run={}, mode={}, added={}, updated={}, unchanged={}, deleted={}, comments={}, duration={}, stages={}",
+                syncConfigId, run.id(), mode, itemsAdded, itemsUpdated, itemsUnchanged, itemsDeleted, commentsSynced,
+                durationStr, formatStages(stages));
+        syncMetrics.recordRun(mode, "completed", duration, finished.itemsPersisted() - itemsUnchanged, commentsSynced);
 
         return new SyncResult(
                 syncConfigId, "completed",
-                itemsAdded + itemsUpdated, itemsAdded, itemsUpdated, itemsDeleted,
-                commentsSynced, durationStr
+                itemsAdded + itemsUpdated, itemsAdded, itemsUpdated, itemsDeleted, itemsUnchanged,
+                commentsSynced, durationStr, stages
         );
     }
 
-    private Set<Integer> fetchWorkItemIdsByAreaPath(String org, String project, String areaPath) {
-        String wiql = String.format("""
-                SELECT [System.Id] FROM WorkItems
-                WHERE [System.AreaPath] UNDER '%s'
-                """, areaPath.replace("'", "''"));
-
-        AzureWiqlResponse response = azureClient.queryWiql(org, project, wiql);
-        Set<Integer> ids = new HashSet<>();
-
-        if (response.workItems() != null) {
-            for (var wi : response.workItems()) {
-                ids.add(wi.id());
+    private static String formatStages(List<SyncStageTiming> stages) {
+        StringBuilder formatted = new StringBuilder();
+        for (SyncStageTiming stage : stages) {
+            if (!formatted.isEmpty()) {
+                formatted.append(", ");
             }
+            formatted.append(stage.stage()).append('=').append(stage.millis()).append("ms");
         }
-
-        return ids;
+        return formatted.toString();
     }
 
-    private Set<Integer> detectChangedByWatermark(String org, String project,
-                                                   List<Integer> itemIds,
-                                                   Long syncConfigId) {
-        Set<Integer> changedIds = new HashSet<>();
-        List<AzureWorkItemResponse> lightweight = azureClient.getWorkItemsLightweight(
-                org, project, itemIds);
-
-        for (AzureWorkItemResponse azureItem : lightweight) {
-            Integer azureWatermark = getIntField(azureItem.fields(), "System.Watermark");
-            WorkItem local = workItemDao.findById(azureItem.id(), syncConfigId);
-            if (local == null || local.watermark() == null
-                    || !Objects.equals(local.watermark(), azureWatermark)) {
-                changedIds.add(azureItem.id());
-            }
+    private String writeStages(List<SyncStageTiming> stages) {
+        try {
+            return objectMapper.writeValueAsString(stages);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize stage timings", e);
         }
-
-        log.info("Watermark detail: {} of {} items detected as changed", changedIds.size(), itemIds.size());
-        return changedIds;
     }
 
-    private List<WorkItemComment> syncCommentsForItemAndReturn(String org, String project,
-                                                                  int workItemId, Long syncConfigId) {
-        try {
-            AzureCommentListResponse response = azureClient.getWorkItemComments(
-                    org, project, workItemId);
-            if (response == null || response.comments() == null || response.comments().isEmpty()) {
-                return List.of();
-            }
-
-            List<WorkItemComment> comments = new ArrayList<>();
-            for (AzureCommentListResponse.AzureComment ac : response.comments()) {
-                WorkItemComment comment = mapComment(ac, workItemId, syncConfigId);
-                commentDao.upsert(comment);
-                comments.add(comment);
-            }
-            return comments;
-        } catch (Exception e) {
-            log.warn("Failed to sync comments for work item {}: {}", workItemId, e.getMessage());
+    private List<SyncStageTiming> readStages(String json) {
+        if (json == null) {
             return List.of();
         }
-    }
-
-    private void generateEmbeddingSafe(WorkItem item, List<WorkItemComment> comments) {
-        if (item == null) return;
         try {
-            embeddingService.generateForWorkItem(item, comments);
-        } catch (Exception e) {
-            log.warn("Failed to generate embedding for work item {}: {}", item.id(), e.getMessage());
+            return objectMapper.readValue(json, STAGES_TYPE);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring unreadable stage timings: {}", e.getMessage());
+            return List.of();
         }
     }
 
-    private WorkItem mapWorkItem(AzureWorkItemResponse response, Long syncConfigId) {
-        Map<String, Object> fields = response.fields();
-        String rawFields = null;
-        try {
-            rawFields = objectMapper.writeValueAsString(fields);
-        } catch (JsonProcessingException e) {
-            log.warn("Failed to serialize raw fields for work item {}", response.id());
+    private static List<Integer> remainingIds(SyncRun run) {
+        IntHashSet processed = new IntHashSet(run.processedIds().length);
+        for (Integer id : run.processedIds()) {
+            processed.add(id);
         }
-
-        // Extract parent ID from relations
-        Integer parentId = null;
-        if (response.relations() != null) {
-            for (var rel : response.relations()) {
-                if ("System.LinkTypes.Hierarchy-Reverse".equals(rel.rel())) {
-                    // Parent link: URL ends with /workItems/{id}
-                    String url = rel.url();
-                    if (url != null) {
-                        String[] parts = url.split("/");
-                        try {
-                            parentId = Integer.parseInt(parts[parts.length - 1]);
-                        } catch (NumberFormatException ignored) {}
-                    }
-                    break;
-                }
+        List<Integer> remaining = new ArrayList<>(run.targetIds().length - processed.size());
+        for (Integer id : run.targetIds()) {
+            if (!processed.contains(id)) {
+                remaining.add(id);
             }
         }
-
-        return new WorkItem(
-                response.id(),
-                syncConfigId,
-                response.rev(),
-                getStringField(fields, "System.Title"),
-                getStringField(fields, "System.WorkItemType"),
-                getStringField(fields, "System.State"),
-                getIdentityDisplayName(fields, "System.AssignedTo"),
-                getStringField(fields, "System.Description"),
-                getIntField(fields, "Microsoft.VSTS.Common.Priority"),
-                getStringField(fields, "System.Tags"),
-                getStringField(fields, "System.AreaPath"),
-                getStringField(fields, "System.IterationPath"),
-                parentId,
-                getIntField(fields, "System.Watermark"),
-                parseDateTime(fields, "System.CreatedDate"),
-                parseDateTime(fields, "System.ChangedDate"),
-                getIdentityDisplayName(fields, "System.CreatedBy"),
-                getIdentityDisplayName(fields, "System.ChangedBy"),
-                rawFields,
-                LocalDateTime.now(),
-                null
-        );
+        return remaining;
     }
 
-    private WorkItemComment mapComment(AzureCommentListResponse.AzureComment ac,
-                                        int workItemId, Long syncConfigId) {
-        return new WorkItemComment(
-                ac.id(),
-                workItemId,
-                syncConfigId,
-                ac.renderedText() != null && !ac.renderedText().isBlank() ? ac.renderedText() : ac.text(),
-                ac.createdBy() != null ? ac.createdBy().displayName() : null,
-                parseIsoDateTime(ac.createdDate()),
-                ac.modifiedBy() != null ? ac.modifiedBy().displayName() : null,
-                parseIsoDateTime(ac.modifiedDate()),
-                ac.version(),
-                LocalDateTime.now()
-        );
+    private SyncMode resolveMode(SyncConfig config, LocalDateTime now) {
+        if (config.lastSynced() == null) {
+            return SyncMode.FULL;
+        }
+        if (!syncProps.deltaEnabled() || config.lastReconciled() == null
+                || config.lastReconciled().plus(syncProps.reconcileInterval()).isBefore(now)) {
+            return SyncMode.INCREMENTAL;
+        }
+        return SyncMode.DELTA;
     }
 
-    private String getStringField(Map<String, Object> fields, String key) {
-        Object val = fields.get(key);
-        return val != null ? val.toString() : null;
-    }
+    private IntHashSet fetchWorkItemIdsByAreaPath(String org, String project, String areaPath) {
+        String wiql = String.format("""
+                SELECT [System.Id] FROM WorkItems
+                WHERE [System.AreaPath] UNDER '%s'
+                """, areaPath.replace("'", "''"));
 
-    @SuppressWarnings("unchecked")
-    private String getIdentityDisplayName(Map<String, Object> fields, String key) {
-        Object val = fields.get(key);
-        if (val instanceof Map) {
-            Object displayName = ((Map<String, Object>) val).get("displayName");
-            return displayName != null ? displayName.toString() : null;
+        AzureWiqlResponse response = azureClient.queryWiql(org, project, wiql);
+        if (response.workItems() == null) {
+            return new IntHashSet();
         }
-        return val != null ? val.toString() : null;
-    }
 
-    private Integer getIntField(Map<String, Object> fields, String key) {
-        Object val = fields.get(key);
-        if (val instanceof Number) {
-            return ((Number) val).intValue();
+        IntHashSet ids = new IntHashSet(response.workItems().size());
+        for (var wi : response.workItems()) {
+            ids.add(wi.id());
         }
-        return null;
+        return ids;
     }
 
-    private LocalDateTime parseDateTime(Map<String, Object> fields, String key) {
-        Object val = fields.get(key);
-        if (val == null) return null;
-        return parseIsoDateTime(val.toString());
-    }
+    private IntHashSet fetchWorkItemIdsChangedSince(String org, String project, String areaPath,
+                                                    LocalDateTime since) {
+        // last_synced is stored in server local time, WIQL compares in UTC
+        String sinceUtc = DateTimeFormatter.ISO_INSTANT.format(since.atZone(ZoneId.systemDefault()).toInstant());
+        String wiql = String.format("""
+                SELECT [System.Id] FROM WorkItems
+                WHERE [System.AreaPath] UNDER '%s'
+                AND [System.ChangedDate] >= '%s'
+                """, areaPath.replace("'", "''"), sinceUtc);
 
-    private LocalDateTime parseIsoDateTime(String dateStr) {
-        if (dateStr == null || dateStr.isBlank()) return null;
-        try {
-            return OffsetDateTime.parse(dateStr, DateTimeFormatter.ISO_OFFSET_DATE_TIME)
-                    .toLocalDateTime();
-        } catch (Exception e) {
-            try {
-                return LocalDateTime.parse(dateStr, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
-            } catch (Exception e2) {
-                log.warn("Failed to parse date: {}", dateStr);
-                return null;
-            }
+        AzureWiqlResponse response = azureClient.queryWiql(org, project, wiql, true);
+        if (response.workItems() == null) {
+            return new IntHashSet();
+        }
+
+        IntHashSet ids = new IntHashSet(response.workItems().size());
+        for (var wi : response.workItems()) {
+            ids.add(wi.id());
         }
+        return ids;
     }
 }
@@ -0,0 +1,26 @@
+package dev.adolab.domain.sync;
+
+/**
+ * Parts of a sync run that are timed separately. Pipeline stages overlap, so their times are busy time
+ * spent in the stage and can add up to more than the run's wall-clock duration.
+ */
+public enum SyncStage {
+
+    /** WIQL queries and change detection. */
+    PLAN,
+
+    /** Work item batch requests to Azure DevOps. */
+    FETCH,
+
+    /** Mapping Azure payloads to entities. */
+    MAP,
+
+    /** Comment thread requests to Azure DevOps. */
+    COMMENTS,
+
+    /** Batch transactions: bulk writes, embedding job enqueue and checkpoint. */
+    PERSIST,
+
+    /** Deletes, cursor update and run completion. */
+    FINALIZE
+}
@@ -0,0 +1,7 @@
+package dev.adolab.domain.sync;
+
+public record SyncStageTiming(
+        String stage,
+        long millis,
+        int samples
+) {}
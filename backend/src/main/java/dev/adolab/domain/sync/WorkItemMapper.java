@@ -0,0 +1,116 @@
+package dev.adolab.domain.sync;
+
+import dev.adolab.domain.azure.dto.AzureCommentListResponse.AzureComment;
+import dev.adolab.domain.azure.dto.AzureWorkItemRecord;
+import dev.adolab.domain.workitem.entity.WorkItem;
+import dev.adolab.domain.workitem.entity.WorkItemComment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+
+@Component
+public class WorkItemMapper {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkItemMapper.class);
+
+    public WorkItem mapWorkItem(AzureWorkItemRecord record, Long syncConfigId) {
+        return new WorkItem(
+                record.id(),
+                syncConfigId,
+                record.rev(),
+                record.title(),
+                record.workItemType(),
+                record.state(),
+                record.assignedTo(),
+                record.description(),
+                record.priority(),
+                record.tags(),
+                record.areaPath(),
+                record.iterationPath(),
+                record.parentId(),
+                record.watermark(),
+                parseIsoDateTime(record.createdDate()),
+                parseIsoDateTime(record.changedDate()),
+                record.createdBy(),
+                record.changedBy(),
+                record.rawFields(),
+                LocalDateTime.now(),
+                record.commentCount(),
+                null
+        );
+    }
+
+    public WorkItemComment mapComment(AzureComment ac,
+                                        int workItemId, Long syncConfigId) {
+        return new WorkItemComment(
+                ac.id(),
+                workItemId,
+                syncConfigId,
+                ac.renderedText() != null && !ac.renderedText().isBlank() ? ac.renderedText() : ac.text(),
+                ac.createdBy() != null ? ac.createdBy().displayName() : null,
+                parseIsoDateTime(ac.createdDate()),
+                ac.modifiedBy() != null ? ac.modifiedBy().displayName() : null,
+                parseIsoDateTime(ac.modifiedDate()),
+                ac.version(),
+                LocalDateTime.now()
+        );
+    }
+
+    private String getStringField(Map<String, Object> fields, String key) {
+        Object val = fields.get(key);
+        return val != null ? val.toString() : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public String getIdentityDisplayName(Map<String, Object> fields, String key) {
+        Object val = fields.get(key);
+        if (val instanceof Map) {
+            Object displayName = ((Map<String, Object>) val).get("displayName");
+            return displayName != null ? displayName.toString() : null;
+        }
+        return val != null ? val.toString() : null;
+    }
+
+    public Integer getIntField(Map<String, Object> fields, String key) {
+        Object val = fields.get(key);
+        if (val instanceof Number) {
+            return ((Number) val).intValue();
+        }
+        return null;
+    }
+
+    public LocalDateTime parseDateTime(Map<String, Object> fields, String key) {
+        Object val = fields.get(key);
+        if (val == null) return null;
+        return parseIsoDateTime(val.toString());
+    }
+
+    private LocalDateTime parseIsoDateTime(String dateStr) {
+        if (dateStr == null || dateStr.isBlank()) return null;
+        try {
+            // Azure sends UTC with a Z suffix; only fall back to local parsing when there is no offset
+            return hasOffset(dateStr)
+                    ? OffsetDateTime.parse(dateStr, DateTimeFormatter.ISO_OFFSET_DATE_TIME).toLocalDateTime()
+                    : LocalDateTime.parse(dateStr, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        } catch (DateTimeParseException e) {
+            log.warn("Failed to parse date: {}", dateStr);
+            return null;
+        }
+    }
+
+    private static boolean hasOffset(String dateStr) {
+        int time = dateStr.indexOf('T');
+        if (time < 0) {
+            return false;
+        }
+        char last = dateStr.charAt(dateStr.length() - 1);
+        return last == 'Z' || last == 'z'
+                || dateStr.indexOf('+', time) >= 0 || dateStr.indexOf('-', time) >= 0;
+    }
+}
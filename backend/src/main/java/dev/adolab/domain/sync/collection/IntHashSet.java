@@ -0,0 +1,105 @@
+package dev.adolab.domain.sync.collection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Open-addressing set of primitive ints, used for work item ID diffs so large area paths
+ * do not allocate one boxed {@link Integer} per ID.
+ */
+public final class IntHashSet {
+
+    private static final int EMPTY = 0;
+
+    private int[] keys;
+    private int size;
+    private boolean containsZero;
+
+    public IntHashSet() {
+        this(16);
+    }
+
+    public IntHashSet(int expectedSize) {
+        keys = new int[IntHashing.capacityFor(expectedSize)];
+    }
+
+    public boolean add(int key) {
+        if (key == EMPTY) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+            size++;
+            return true;
+        }
+        int mask = keys.length - 1;
+        int slot = IntHashing.mix(key) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        if (++size > keys.length * IntHashing.LOAD_FACTOR) {
+            rehash(keys.length << 1);
+        }
+        return true;
+    }
+
+    public void addAll(IntHashSet other) {
+        other.forEach(this::add);
+    }
+
+    public boolean contains(int key) {
+        if (key == EMPTY) {
+            return containsZero;
+        }
+        int mask = keys.length - 1;
+        int slot = IntHashing.mix(key) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void forEach(IntConsumer consumer) {
+        if (containsZero) {
+            consumer.accept(EMPTY);
+        }
+        for (int key : keys) {
+            if (key != EMPTY) {
+                consumer.accept(key);
+            }
+        }
+    }
+
+    public List<Integer> toList() {
+        List<Integer> list = new ArrayList<>(size);
+        forEach(list::add);
+        return list;
+    }
+
+    private void rehash(int newCapacity) {
+        int[] oldKeys = keys;
+        keys = new int[newCapacity];
+        size = containsZero ? 1 : 0;
+        for (int key : oldKeys) {
+            if (key != EMPTY) {
+                add(key);
+            }
+        }
+    }
+}
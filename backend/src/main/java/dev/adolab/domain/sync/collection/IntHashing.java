@@ -0,0 +1,22 @@
+package dev.adolab.domain.sync.collection;
+
+final class IntHashing {
+
+    static final float LOAD_FACTOR = 0.5f;
+
+    private IntHashing() {}
+
+    // Smallest power of two that keeps expectedSize entries under the load factor
+    static int capacityFor(int expectedSize) {
+        int needed = Math.max(8, (int) Math.ceil(Math.max(0, expectedSize) / LOAD_FACTOR) + 1);
+        return Integer.highestOneBit(needed - 1) << 1;
+    }
+
+    // Murmur3 finalizer; work item IDs are sequential, so spread them before masking
+    static int mix(int key) {
+        int h = key * 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        return h ^ (h >>> 16);
+    }
+}
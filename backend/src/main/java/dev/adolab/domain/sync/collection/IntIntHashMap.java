@@ -0,0 +1,114 @@
+package dev.adolab.domain.sync.collection;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Open-addressing map from primitive int keys to primitive int values.
+ */
+public final class IntIntHashMap {
+
+    private static final int EMPTY = 0;
+
+    private int[] keys;
+    private int[] values;
+    private int size;
+    private boolean containsZero;
+    private int zeroValue;
+
+    public IntIntHashMap() {
+        this(16);
+    }
+
+    public IntIntHashMap(int expectedSize) {
+        int capacity = IntHashing.capacityFor(expectedSize);
+        keys = new int[capacity];
+        values = new int[capacity];
+    }
+
+    public void put(int key, int value) {
+        if (key == EMPTY) {
+            if (!containsZero) {
+                containsZero = true;
+                size++;
+            }
+            zeroValue = value;
+            return;
+        }
+        int mask = keys.length - 1;
+        int slot = IntHashing.mix(key) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > keys.length * IntHashing.LOAD_FACTOR) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    public int get(int key, int defaultValue) {
+        if (key == EMPTY) {
+            return containsZero ? zeroValue : defaultValue;
+        }
+        int mask = keys.length - 1;
+        int slot = IntHashing.mix(key) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return defaultValue;
+    }
+
+    public boolean containsKey(int key) {
+        if (key == EMPTY) {
+            return containsZero;
+        }
+        int mask = keys.length - 1;
+        int slot = IntHashing.mix(key) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void forEachKey(IntConsumer consumer) {
+        if (containsZero) {
+            consumer.accept(EMPTY);
+        }
+        for (int key : keys) {
+            if (key != EMPTY) {
+                consumer.accept(key);
+            }
+        }
+    }
+
+    private void rehash(int newCapacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new int[newCapacity];
+        values = new int[newCapacity];
+        size = containsZero ? 1 : 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+}
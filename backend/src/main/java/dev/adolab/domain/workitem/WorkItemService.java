@@ -1,24 +1,44 @@
 package dev.adolab.domain.workitem;
 
+import dev.adolab.domain.workitem.dao.WorkItemClosureDao;
 import dev.adolab.domain.workitem.dao.WorkItemCommentDao;
 import dev.adolab.domain.workitem.dao.WorkItemDao;
+import dev.adolab.domain.workitem.dao.WorkItemRevisionDao;
+import dev.adolab.domain.workitem.dao.WorkItemRollupDao;
 import dev.adolab.domain.workitem.entity.WorkItem;
 import dev.adolab.domain.workitem.entity.WorkItemComment;
 import dev.adolab.domain.workitem.entity.WorkItemFilter;
+import dev.adolab.domain.workitem.entity.WorkItemRevision;
+import dev.adolab.domain.workitem.entity.WorkItemRollup;
+import dev.adolab.domain.workitem.entity.WorkItemRollupRow;
+import dev.adolab.domain.workitem.entity.WorkItemTreeNode;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 @Service
 public class WorkItemService {
 
+    private static final int MAX_ROLLUP_IDS = 1000;
+
     private final WorkItemDao workItemDao;
     private final WorkItemCommentDao commentDao;
+    private final WorkItemRevisionDao revisionDao;
+    private final WorkItemClosureDao closureDao;
+    private final WorkItemRollupDao rollupDao;
 
-    public WorkItemService(WorkItemDao workItemDao, WorkItemCommentDao commentDao) {
+    public WorkItemService(WorkItemDao workItemDao, WorkItemCommentDao commentDao,
+                           WorkItemRevisionDao revisionDao, WorkItemClosureDao closureDao,
+                           WorkItemRollupDao rollupDao) {
         this.workItemDao = workItemDao;
         this.commentDao = commentDao;
+        this.revisionDao = revisionDao;
+        this.closureDao = closureDao;
+        this.rollupDao = rollupDao;
     }
 
     public List<WorkItem> search(WorkItemFilter filter) {
@@ -33,10 +53,84 @@ public class WorkItemService {
         return workItemDao.findChildren(parentId, syncConfigId);
     }
 
+    /**
+     * Loads the subtree below {@code id} with a single closure-table query and nests it by parent.
+     * Returns null when the item is unknown.
+     */
+    public WorkItemTreeNode getTree(Integer id, Long syncConfigId, Integer maxDepth) {
+        if (maxDepth != null && maxDepth < 0) {
+            throw new IllegalArgumentException("maxDepth must not be negative");
+        }
+        List<WorkItem> items = closureDao.findSubtree(id, syncConfigId, maxDepth);
+        if (items.isEmpty()) {
+            return null;
+        }
+
+        // Rows come shallowest first, so every parent is placed before its children
+        Map<Integer, WorkItemTreeNode> nodes = new HashMap<>(items.size() * 2);
+        WorkItemTreeNode root = new WorkItemTreeNode(items.getFirst(), 0, new ArrayList<>());
+        nodes.put(root.item().id(), root);
+        for (WorkItem item : items.subList(1, items.size())) {
+            WorkItemTreeNode parent = nodes.get(item.parentId());
+            if (parent == null) {
+                continue;
+            }
+            WorkItemTreeNode node = new WorkItemTreeNode(item, parent.depth() + 1, new ArrayList<>());
+            parent.children().add(node);
+            nodes.put(item.id(), node);
+        }
+        return root;
+    }
+
+    /**
+     * Descendant counts per item, read from the rollups maintained during sync. Items without descendants
+     * get an empty rollup.
+     */
+    public Map<Integer, WorkItemRollup> getRollups(List<Integer> ids, Long syncConfigId) {
+        if (ids.size() > MAX_ROLLUP_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_ROLLUP_IDS + " ids per request");
+        }
+        Map<Integer, List<WorkItemRollupRow>> rowsById = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (WorkItemRollupRow row : rollupDao.findByAncestorIds(ids.toArray(Integer[]::new), syncConfigId)) {
+                rowsById.computeIfAbsent(row.ancestorId(), k -> new ArrayList<>()).add(row);
+            }
+        }
+
+        Map<Integer, WorkItemRollup> rollups = new LinkedHashMap<>();
+        for (Integer id : ids) {
+            rollups.put(id, toRollup(id, rowsById.getOrDefault(id, List.of())));
+        }
+        return rollups;
+    }
+
+    private static WorkItemRollup toRollup(Integer id, List<WorkItemRollupRow> rows) {
+        int total = 0;
+        Double remainingWork = null;
+        Map<String, Integer> byState = new LinkedHashMap<>();
+        Map<String, Integer> byType = new LinkedHashMap<>();
+        Map<String, Map<String, Integer>> byTypeAndState = new LinkedHashMap<>();
+        for (WorkItemRollupRow row : rows) {
+            total += row.itemCount();
+            byState.merge(row.state(), row.itemCount(), Integer::sum);
+            byType.merge(row.workItemType(), row.itemCount(), Integer::sum);
+            byTypeAndState.computeIfAbsent(row.workItemType(), k -> new LinkedHashMap<>())
+                    .put(row.state(), row.itemCount());
+            if (row.remainingWork() != null) {
+                remainingWork = (remainingWork != null ? remainingWork : 0) + row.remainingWork();
+            }
+        }
+        return new WorkItemRollup(id, total, byState, byType, byTypeAndState, remainingWork);
+    }
+
     public List<WorkItemComment> getComments(Integer workItemId, Long syncConfigId) {
         return commentDao.findByWorkItemId(workItemId, syncConfigId);
     }
 
+    public List<WorkItemRevision> getRevisions(Integer workItemId, Long syncConfigId) {
+        return revisionDao.findByWorkItemId(workItemId, syncConfigId);
+    }
+
     public Map<String, Object> getMetadata(Long syncConfigId) {
         return Map.of(
                 "types", workItemDao.findDistinctTypes(syncConfigId),
@@ -19,5 +19,7 @@ public interface SyncConfigDao {
 
     void updateLastSynced(@Param("id") Long id, @Param("lastSynced") LocalDateTime lastSynced);
 
+    void updateLastReconciled(@Param("id") Long id, @Param("lastReconciled") LocalDateTime lastReconciled);
+
     void delete(@Param("id") Long id);
 }
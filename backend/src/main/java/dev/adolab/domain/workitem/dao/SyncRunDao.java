@@ -0,0 +1,47 @@
+package dev.adolab.domain.workitem.dao;
+
+import dev.adolab.domain.workitem.entity.SyncRun;
+import dev.adolab.domain.workitem.entity.SyncRunSummary;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Mapper
+public interface SyncRunDao {
+
+    Long insert(@Param("syncConfigId") Long syncConfigId,
+                @Param("mode") String mode,
+                @Param("phase") String phase,
+                @Param("cursorAt") LocalDateTime cursorAt,
+                @Param("targetIds") Integer[] targetIds,
+                @Param("deletedIds") Integer[] deletedIds,
+                @Param("newCount") int newCount,
+                @Param("changedCount") int changedCount);
+
+    SyncRun findById(@Param("id") Long id);
+
+    SyncRun findResumable(@Param("syncConfigId") Long syncConfigId,
+                          @Param("startedAfter") LocalDateTime startedAfter);
+
+    void abandonStale(@Param("syncConfigId") Long syncConfigId,
+                      @Param("startedBefore") LocalDateTime startedBefore);
+
+    void markResumed(@Param("id") Long id);
+
+    void checkpoint(@Param("id") Long id,
+                    @Param("processedIds") Integer[] processedIds,
+                    @Param("itemsUnchanged") int itemsUnchanged,
+                    @Param("commentsSynced") int commentsSynced);
+
+    void updatePhase(@Param("id") Long id, @Param("phase") String phase);
+
+    void markCompleted(@Param("id") Long id);
+
+    void markFailed(@Param("id") Long id, @Param("error") String error);
+
+    void updateStages(@Param("id") Long id, @Param("stages") String stages);
+
+    List<SyncRunSummary> findRecent(@Param("syncConfigId") Long syncConfigId, @Param("limit") int limit);
+}
@@ -0,0 +1,33 @@
+package dev.adolab.domain.workitem.dao;
+
+import dev.adolab.domain.workitem.entity.WorkItem;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Mapper
+public interface WorkItemClosureDao {
+
+    List<Integer> findStaleIds(@Param("syncConfigId") Long syncConfigId,
+                               @Param("since") LocalDateTime since,
+                               @Param("deletedIds") Integer[] deletedIds);
+
+    int insertSelf(@Param("ids") Integer[] ids, @Param("syncConfigId") Long syncConfigId);
+
+    int detach(@Param("ids") Integer[] ids, @Param("syncConfigId") Long syncConfigId);
+
+    int attach(@Param("id") Integer id, @Param("syncConfigId") Long syncConfigId);
+
+    int deleteByIds(@Param("ids") Integer[] ids, @Param("syncConfigId") Long syncConfigId);
+
+    int deleteAll(@Param("syncConfigId") Long syncConfigId);
+
+    int rebuild(@Param("syncConfigId") Long syncConfigId);
+
+    /** The item itself and its descendants down to {@code maxDepth} levels (all when null), shallowest first. */
+    List<WorkItem> findSubtree(@Param("id") Integer id,
+                               @Param("syncConfigId") Long syncConfigId,
+                               @Param("maxDepth") Integer maxDepth);
+}
@@ -14,9 +14,7 @@ public interface WorkItemCommentDao {
 
     void upsert(@Param("comment") WorkItemComment comment);
 
-    void upsertBatch(@Param("comments") List<WorkItemComment> comments);
-
-    void deleteByWorkItemId(@Param("workItemId") Integer workItemId,
+    int deleteByWorkItemIds(@Param("workItemIds") Integer[] workItemIds,
                             @Param("syncConfigId") Long syncConfigId);
 
     void deleteBySyncConfigId(@Param("syncConfigId") Long syncConfigId);
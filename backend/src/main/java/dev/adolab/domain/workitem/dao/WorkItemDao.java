@@ -2,8 +2,10 @@ package dev.adolab.domain.workitem.dao;
 
 import dev.adolab.domain.workitem.entity.WorkItem;
 import dev.adolab.domain.workitem.entity.WorkItemFilter;
+import dev.adolab.domain.workitem.entity.WorkItemWatermark;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 
 import java.util.List;
 
@@ -20,14 +22,18 @@ public interface WorkItemDao {
 
     void upsert(@Param("item") WorkItem item);
 
-    void upsertBatch(@Param("items") List<WorkItem> items);
-
     void deleteBySyncConfigId(@Param("syncConfigId") Long syncConfigId);
 
-    void deleteByIds(@Param("ids") List<Integer> ids, @Param("syncConfigId") Long syncConfigId);
+    int deleteByIds(@Param("ids") Integer[] ids, @Param("syncConfigId") Long syncConfigId);
 
     List<Integer> findAllIds(@Param("syncConfigId") Long syncConfigId);
 
+    void streamWatermarks(@Param("syncConfigId") Long syncConfigId,
+                          ResultHandler<WorkItemWatermark> handler);
+
+    List<WorkItemWatermark> findWatermarks(@Param("syncConfigId") Long syncConfigId,
+                                           @Param("ids") Integer[] ids);
+
     int countByState(@Param("syncConfigId") Long syncConfigId, @Param("state") String state);
 
     List<String> findDistinctTypes(@Param("syncConfigId") Long syncConfigId);
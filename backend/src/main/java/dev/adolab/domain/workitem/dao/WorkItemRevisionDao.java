@@ -0,0 +1,30 @@
+package dev.adolab.domain.workitem.dao;
+
+import dev.adolab.domain.workitem.entity.RevisionIngestCursor;
+import dev.adolab.domain.workitem.entity.WorkItemRevision;
+import dev.adolab.domain.workitem.entity.WorkItemRevisionHead;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+@Mapper
+public interface WorkItemRevisionDao {
+
+    List<WorkItemRevision> findByWorkItemId(@Param("workItemId") Integer workItemId,
+                                            @Param("syncConfigId") Long syncConfigId);
+
+    List<WorkItemRevisionHead> findHeads(@Param("syncConfigId") Long syncConfigId,
+                                         @Param("workItemIds") Integer[] workItemIds);
+
+    int insertRevisions(@Param("revisions") List<WorkItemRevision> revisions);
+
+    void upsertHeads(@Param("syncConfigId") Long syncConfigId,
+                     @Param("heads") List<WorkItemRevisionHead> heads);
+
+    RevisionIngestCursor findCursor(@Param("syncConfigId") Long syncConfigId);
+
+    void upsertCursor(@Param("syncConfigId") Long syncConfigId,
+                      @Param("continuationToken") String continuationToken,
+                      @Param("revisionsIngested") int revisionsIngested);
+}
@@ -0,0 +1,29 @@
+package dev.adolab.domain.workitem.dao;
+
+import dev.adolab.domain.workitem.entity.WorkItemRollupRow;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Mapper
+public interface WorkItemRollupDao {
+
+    LocalDateTime findPendingSince(@Param("syncConfigId") Long syncConfigId);
+
+    List<Integer> findAffectedAncestors(@Param("syncConfigId") Long syncConfigId,
+                                        @Param("since") LocalDateTime since,
+                                        @Param("ids") Integer[] ids);
+
+    int deleteByAncestorIds(@Param("ancestorIds") Integer[] ancestorIds, @Param("syncConfigId") Long syncConfigId);
+
+    int insertForAncestors(@Param("ancestorIds") Integer[] ancestorIds, @Param("syncConfigId") Long syncConfigId);
+
+    int deleteAll(@Param("syncConfigId") Long syncConfigId);
+
+    int rebuild(@Param("syncConfigId") Long syncConfigId);
+
+    List<WorkItemRollupRow> findByAncestorIds(@Param("ancestorIds") Integer[] ancestorIds,
+                                              @Param("syncConfigId") Long syncConfigId);
+}
@@ -0,0 +1,10 @@
+package dev.adolab.domain.workitem.entity;
+
+import java.time.LocalDateTime;
+
+public record RevisionIngestCursor(
+        Long syncConfigId,
+        String continuationToken,
+        Long revisionsIngested,
+        LocalDateTime updatedAt
+) {}
@@ -7,5 +7,6 @@ public record SyncConfig(
         String name,
         String areaPath,
         LocalDateTime lastSynced,
-        LocalDateTime createdAt
+        LocalDateTime createdAt,
+        LocalDateTime lastReconciled
 ) {}
@@ -0,0 +1,24 @@
+package dev.adolab.domain.workitem.entity;
+
+import java.time.LocalDateTime;
+
+public record SyncRun(
+        Long id,
+        Long syncConfigId,
+        String mode,
+        String status,
+        String phase,
+        LocalDateTime cursorAt,
+        Integer[] targetIds,
+        Integer[] processedIds,
+        Integer[] deletedIds,
+        Integer newCount,
+        Integer changedCount,
+        Integer itemsPersisted,
+        Integer commentsSynced,
+        Integer itemsUnchanged,
+        String error,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt,
+        LocalDateTime updatedAt
+) {}
@@ -0,0 +1,24 @@
+package dev.adolab.domain.workitem.entity;
+
+import java.time.LocalDateTime;
+
+/**
+ * A {@code sync_run} row without its ID arrays, for run history listings.
+ */
+public record SyncRunSummary(
+        Long id,
+        Long syncConfigId,
+        String mode,
+        String status,
+        String phase,
+        Integer newCount,
+        Integer changedCount,
+        Integer deletedCount,
+        Integer itemsPersisted,
+        Integer commentsSynced,
+        Integer itemsUnchanged,
+        String error,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt,
+        String stages
+) {}
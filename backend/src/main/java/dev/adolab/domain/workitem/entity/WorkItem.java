@@ -23,5 +23,6 @@ public record WorkItem(
         String changedBy,
         String rawFields,
         LocalDateTime syncedAt,
+        Integer commentCount,
         LocalDateTime lastActivityDate
 ) {}
@@ -0,0 +1,12 @@
+package dev.adolab.domain.workitem.entity;
+
+import java.time.LocalDateTime;
+
+public record WorkItemRevision(
+        Long syncConfigId,
+        Integer workItemId,
+        Integer rev,
+        LocalDateTime changedDate,
+        String changedBy,
+        String changes
+) {}
@@ -0,0 +1,7 @@
+package dev.adolab.domain.workitem.entity;
+
+public record WorkItemRevisionHead(
+        Integer workItemId,
+        Integer rev,
+        String fields
+) {}
@@ -0,0 +1,16 @@
+package dev.adolab.domain.workitem.entity;
+
+import java.util.Map;
+
+/**
+ * Descendant counts of one work item. {@code remainingWork} is null when no descendant has a remaining
+ * work estimate.
+ */
+public record WorkItemRollup(
+        Integer workItemId,
+        int total,
+        Map<String, Integer> byState,
+        Map<String, Integer> byType,
+        Map<String, Map<String, Integer>> byTypeAndState,
+        Double remainingWork
+) {}
@@ -0,0 +1,9 @@
+package dev.adolab.domain.workitem.entity;
+
+public record WorkItemRollupRow(
+        Integer ancestorId,
+        String workItemType,
+        String state,
+        Integer itemCount,
+        Double remainingWork
+) {}
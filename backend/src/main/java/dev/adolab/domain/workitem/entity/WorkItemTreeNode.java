@@ -0,0 +1,9 @@
+package dev.adolab.domain.workitem.entity;
+
+import java.util.List;
+
+public record WorkItemTreeNode(
+        WorkItem item,
+        int depth,
+        List<WorkItemTreeNode> children
+) {}
@@ -0,0 +1,7 @@
+package dev.adolab.domain.workitem.entity;
+
+public record WorkItemWatermark(
+        Integer id,
+        Integer watermark,
+        Integer commentCount
+) {}
@@ -0,0 +1,96 @@
+package dev.adolab.transport.http;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * AIMD concurrency limit for one remote host. The limit grows by one after a full window of successful
+ * requests and halves whenever the host signals throttling, always staying within {@code [min, max]}.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int min;
+    private final int max;
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition released = lock.newCondition();
+
+    private double limit;
+    private int inFlight;
+    private int successesSinceIncrease;
+
+    public AdaptiveConcurrencyLimiter(int initial, int min, int max) {
+        this.min = Math.max(1, min);
+        this.max = Math.max(this.min, max);
+        this.limit = Math.clamp(initial, this.min, this.max);
+    }
+
+    public void acquire() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (inFlight >= (int) limit) {
+                released.await();
+            }
+            inFlight++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onSuccess() {
+        lock.lock();
+        try {
+            release();
+            if (++successesSinceIncrease >= (int) limit && limit < max) {
+                limit = Math.min(max, limit + 1);
+                successesSinceIncrease = 0;
+                released.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onThrottled() {
+        lock.lock();
+        try {
+            release();
+            limit = Math.max(min, limit / 2);
+            successesSinceIncrease = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Releases a permit without adjusting the limit, e.g. after a connection error. */
+    public void onIgnored() {
+        lock.lock();
+        try {
+            release();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int limit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release() {
+        inFlight--;
+        released.signal();
+    }
+}
@@ -0,0 +1,83 @@
+package dev.adolab.transport.http;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Asks for gzip and decodes it, since the JDK HTTP client leaves content encoding to the caller.
+ */
+public class GzipDecodingInterceptor implements ClientHttpRequestInterceptor {
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+                                        ClientHttpRequestExecution execution) throws IOException {
+        if (!request.getHeaders().containsKey(HttpHeaders.ACCEPT_ENCODING)) {
+            request.getHeaders().set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        }
+        ClientHttpResponse response = execution.execute(request, body);
+        String encoding = response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
+        return encoding != null && encoding.equalsIgnoreCase("gzip") ? new GzipResponse(response) : response;
+    }
+
+    private static final class GzipResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final HttpHeaders headers;
+        private InputStream body;
+
+        GzipResponse(ClientHttpResponse delegate) {
+            this.delegate = delegate;
+            HttpHeaders copy = new HttpHeaders();
+            copy.putAll(delegate.getHeaders());
+            copy.remove(HttpHeaders.CONTENT_ENCODING);
+            copy.remove(HttpHeaders.CONTENT_LENGTH);
+            this.headers = HttpHeaders.readOnlyHttpHeaders(copy);
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                InputStream raw = delegate.getBody();
+                // Empty bodies (204, HEAD) still carry the header on some servers
+                InputStream buffered = raw.markSupported() ? raw : new BufferedInputStream(raw);
+                buffered.mark(1);
+                if (buffered.read() < 0) {
+                    body = InputStream.nullInputStream();
+                } else {
+                    buffered.reset();
+                    body = new GZIPInputStream(buffered);
+                }
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package dev.adolab.transport.http;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Records {@code adolab.http.client} per host, endpoint, method and status.
+ * <p>
+ * Registered first, so one sample covers a logical call including every retry and back-off, up to the
+ * response headers. The endpoint tag is the last non-numeric path segment ({@code workitems},
+ * {@code comments}, {@code embeddings}, ...) to keep IDs out of the tag values.
+ */
+public class MeteredRequestInterceptor implements ClientHttpRequestInterceptor {
+
+    private final String host;
+    private final MeterRegistry registry;
+
+    public MeteredRequestInterceptor(String host, MeterRegistry registry) {
+        this.host = host;
+        this.registry = registry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+                                        ClientHttpRequestExecution execution) throws IOException {
+        Timer.Sample sample = Timer.start(registry);
+        String status = "IO_ERROR";
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            status = String.valueOf(response.getStatusCode().value());
+            return response;
+        } finally {
+            sample.stop(Timer.builder("adolab.http.client")
+                    .tag("host", host)
+                    .tag("endpoint", endpoint(request.getURI().getPath()))
+                    .tag("method", request.getMethod().name())
+                    .tag("status", status)
+                    .register(registry));
+        }
+    }
+
+    static String endpoint(String path) {
+        if (path == null) {
+            return "none";
+        }
+        String[] segments = path.split("/");
+        for (int i = segments.length - 1; i >= 0; i--) {
+            String segment = segments[i];
+            if (!segment.isEmpty() && !segment.chars().allMatch(Character::isDigit)) {
+                return segment.toLowerCase(Locale.ROOT);
+            }
+        }
+        return "root";
+    }
+}
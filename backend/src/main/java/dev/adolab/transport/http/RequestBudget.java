@@ -0,0 +1,24 @@
+package dev.adolab.transport.http;
+
+import org.springframework.http.HttpRequest;
+
+import java.io.InterruptedIOException;
+
+/**
+ * Client-side rate budget that {@link ThrottlingRetryInterceptor} charges once per attempt, retries included.
+ */
+public interface RequestBudget {
+
+    RequestBudget UNLIMITED = request -> Charge.NONE;
+
+    /** Blocks until {@code request} fits in the budget and returns the charge made for this attempt. */
+    Charge charge(HttpRequest request) throws InterruptedIOException;
+
+    interface Charge {
+
+        Charge NONE = () -> {};
+
+        /** Gives back what the server did not consume because the attempt failed or was rejected. */
+        void refund();
+    }
+}
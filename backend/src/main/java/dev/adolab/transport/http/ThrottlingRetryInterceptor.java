@@ -0,0 +1,255 @@
+package dev.adolab.transport.http;
+
+import dev.adolab.config.HttpTransportProperties.HostSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Per-host concurrency limiting and retries.
+ * <p>
+ * Every attempt holds a permit of the host's {@link AdaptiveConcurrencyLimiter} until its response is closed,
+ * so a slow body download still counts against the host. 429 and 503 responses, and Azure's
+ * {@code X-RateLimit-Delay}, shrink the limit. Throttled requests are retried after the delay
+ * the server asked for ({@code Retry-After}, {@code retry-after-ms}, {@code x-ratelimit-reset-requests}),
+ * otherwise after an exponential backoff with jitter. Connection errors and 502/504 are only retried for
+ * idempotent methods. This must be the last interceptor: retries re-run the rest of the chain, which
+ * Spring skips once it has been consumed. For the same reason a {@link RequestBudget} is charged here, once
+ * per attempt, and refunded when the attempt fails or is answered with anything but a 2xx.
+ */
+public class ThrottlingRetryInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(ThrottlingRetryInterceptor.class);
+
+    private static final Set<HttpMethod> IDEMPOTENT = Set.of(
+            HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS, HttpMethod.PUT, HttpMethod.DELETE);
+    private static final Pattern GO_DURATION = Pattern.compile("(\\d+(?:\\.\\d+)?)(ms|h|m|s)");
+
+    private final String host;
+    private final HostSettings settings;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final RequestBudget budget;
+
+    public ThrottlingRetryInterceptor(String host, HostSettings settings) {
+        this(host, settings, RequestBudget.UNLIMITED);
+    }
+
+    public ThrottlingRetryInterceptor(String host, HostSettings settings, RequestBudget budget) {
+        this.host = host;
+        this.settings = settings;
+        this.budget = budget;
+        this.limiter = new AdaptiveConcurrencyLimiter(
+                settings.initialConcurrency(), settings.minConcurrency(), settings.maxConcurrency());
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+                                        ClientHttpRequestExecution execution) throws IOException {
+        boolean idempotent = IDEMPOTENT.contains(request.getMethod());
+        for (int attempt = 0; ; attempt++) {
+            RequestBudget.Charge charge = budget.charge(request);
+            try {
+                acquire();
+            } catch (InterruptedIOException e) {
+                charge.refund();
+                throw e;
+            }
+            ClientHttpResponse response;
+            try {
+                response = execution.execute(request, body);
+            } catch (IOException e) {
+                charge.refund();
+                limiter.onIgnored();
+                if (!idempotent || attempt >= settings.maxRetries()) {
+                    throw e;
+                }
+                Duration delay = backoff(attempt);
+                log.warn("{} {} failed ({}), retrying in {}ms", host, request.getURI().getPath(),
+                        e.getMessage(), delay.toMillis());
+                sleep(delay);
+                continue;
+            }
+
+            int status = response.getStatusCode().value();
+            if (!response.getStatusCode().is2xxSuccessful()) {
+                charge.refund();
+            }
+            boolean throttled = status == 429 || status == 503;
+            Runnable outcome;
+            if (throttled || response.getHeaders().containsKey("X-RateLimit-Delay")) {
+                outcome = limiter::onThrottled;
+            } else if (status == 502 || status == 504) {
+                outcome = limiter::onIgnored;
+            } else {
+                outcome = limiter::onSuccess;
+            }
+
+            boolean retryable = throttled || (idempotent && (status == 502 || status == 504));
+            if (!retryable || attempt >= settings.maxRetries()) {
+                return new PermitResponse(response, outcome);
+            }
+
+            Duration requested = serverDelay(response.getHeaders());
+            if (requested != null && requested.compareTo(settings.maxRetryAfter()) > 0) {
+                log.warn("{} asked to retry {} after {}s, giving up", host, request.getURI().getPath(),
+                        requested.toSeconds());
+                return new PermitResponse(response, outcome);
+            }
+            response.close();
+            outcome.run();
+            Duration delay = requested != null ? requested : backoff(attempt);
+            log.warn("{} {} returned {}, retrying in {}ms (attempt {}/{}, limit {})", host,
+                    request.getURI().getPath(), status, delay.toMillis(), attempt + 1, settings.maxRetries(),
+                    limiter.limit());
+            sleep(delay);
+        }
+    }
+
+    int concurrencyLimit() {
+        return limiter.limit();
+    }
+
+    int inFlight() {
+        return limiter.inFlight();
+    }
+
+    private void acquire() throws InterruptedIOException {
+        try {
+            limiter.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a " + host + " request slot");
+        }
+    }
+
+    // Full jitter between half and all of the capped exponential delay
+    private Duration backoff(int attempt) {
+        long base = settings.retryBackoff().toMillis() << Math.min(attempt, 20);
+        long capped = Math.min(base, settings.retryBackoffMax().toMillis());
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(capped / 2, capped + 1));
+    }
+
+    static Duration serverDelay(HttpHeaders headers) {
+        String retryAfterMs = headers.getFirst("retry-after-ms");
+        if (retryAfterMs != null) {
+            try {
+                return Duration.ofMillis((long) Double.parseDouble(retryAfterMs.trim()));
+            } catch (NumberFormatException ignored) {
+                // fall through to Retry-After
+            }
+        }
+        String retryAfter = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (retryAfter != null) {
+            String value = retryAfter.trim();
+            if (!value.isEmpty() && Character.isDigit(value.charAt(0))) {
+                try {
+                    return Duration.ofSeconds(Long.parseLong(value));
+                } catch (NumberFormatException ignored) {
+                    // not a delta-seconds value
+                }
+            }
+            try {
+                Duration until = Duration.between(ZonedDateTime.now(),
+                        ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME));
+                return until.isNegative() ? Duration.ZERO : until;
+            } catch (DateTimeParseException ignored) {
+                // unparseable, use the reset headers or our own backoff
+            }
+        }
+        String reset = headers.getFirst("x-ratelimit-reset-requests");
+        if (reset != null) {
+            return parseGoDuration(reset.trim());
+        }
+        return null;
+    }
+
+    // OpenAI reports resets as Go durations such as "1s", "6m0s" or "250ms"
+    private static Duration parseGoDuration(String value) {
+        Matcher matcher = GO_DURATION.matcher(value);
+        double millis = 0;
+        boolean matched = false;
+        while (matcher.find()) {
+            matched = true;
+            double amount = Double.parseDouble(matcher.group(1));
+            millis += switch (matcher.group(2)) {
+                case "h" -> amount * 3_600_000;
+                case "m" -> amount * 60_000;
+                case "s" -> amount * 1_000;
+                default -> amount;
+            };
+        }
+        return matched ? Duration.ofMillis((long) Math.ceil(millis)) : null;
+    }
+
+    private static void sleep(Duration delay) throws InterruptedIOException {
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted during retry backoff");
+        }
+    }
+
+    // Releases the attempt's permit, once, when the caller closes the response
+    private static final class PermitResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final AtomicReference<Runnable> release;
+
+        PermitResponse(ClientHttpResponse delegate, Runnable release) {
+            this.delegate = delegate;
+            this.release = new AtomicReference<>(release);
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                Runnable pending = release.getAndSet(null);
+                if (pending != null) {
+                    pending.run();
+                }
+            }
+        }
+    }
+}
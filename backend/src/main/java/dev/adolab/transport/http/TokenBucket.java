@@ -0,0 +1,54 @@
+package dev.adolab.transport.http;
+
+/**
+ * Token bucket refilled continuously at {@code perMinute / 60s}, holding at most one minute's worth.
+ * <p>
+ * Reservations may drive the bucket into debt; the caller is told how long to wait before its reservation
+ * is covered, so concurrent callers are served in reservation order without spinning.
+ */
+public class TokenBucket {
+
+    private final double capacity;
+    private final double refillPerNano;
+    private double available;
+    private long lastRefill;
+
+    public TokenBucket(long perMinute) {
+        this.capacity = Math.max(1, perMinute);
+        this.refillPerNano = capacity / 60_000_000_000.0;
+        this.available = capacity;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Takes {@code amount} tokens, capped at the capacity so an oversized request cannot block forever, and
+     * returns the nanoseconds to wait before using them.
+     */
+    public synchronized long reserve(long amount) {
+        refill();
+        available -= capped(amount);
+        return available >= 0 ? 0 : (long) Math.ceil(-available / refillPerNano);
+    }
+
+    /** What {@link #reserve} actually takes for {@code amount}; refunds must be based on this, not on the request. */
+    public long capped(long amount) {
+        return (long) Math.min(amount, capacity);
+    }
+
+    /** Returns tokens to the bucket (positive) or charges more (negative) once the real cost is known. */
+    public synchronized void adjust(long delta) {
+        refill();
+        available = Math.min(capacity, available + delta);
+    }
+
+    public synchronized long available() {
+        refill();
+        return (long) available;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        available = Math.min(capacity, available + (now - lastRefill) * refillPerNano);
+        lastRefill = now;
+    }
+}
@@ -1,12 +1,16 @@
 package dev.adolab.transport.rest.controller;
 
 import dev.adolab.domain.ai.EmbeddingService;
+import dev.adolab.domain.ai.QueryEmbeddingCache;
+import dev.adolab.domain.ai.SearchPlanCache;
 import dev.adolab.domain.ai.SearchService;
 import dev.adolab.domain.ai.dao.EmbeddingDao;
+import dev.adolab.domain.ai.dao.EmbeddingJobDao;
+import dev.adolab.domain.ai.dto.EmbeddingBatchResult;
 import dev.adolab.domain.ai.dto.EmbeddingSummary;
 import dev.adolab.domain.ai.dto.SmartSearchRequest;
 import dev.adolab.domain.ai.dto.SmartSearchResult;
-import dev.adolab.domain.sync.SyncService;
+import dev.adolab.domain.sync.SyncConfigRegistry;
 import dev.adolab.domain.workitem.dao.WorkItemCommentDao;
 import dev.adolab.domain.workitem.dao.WorkItemDao;
 import dev.adolab.domain.workitem.entity.WorkItem;
@@ -16,100 +20,151 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 @RestController
-@RequestMapping("/api/search")
+@RequestMapping({"/api/search", "/api/configs/{configId}/search"})
 public class SearchController {
 
     private static final Logger log = LoggerFactory.getLogger(SearchController.class);
 
+    private static final int REINDEX_CHUNK_SIZE = 100;
+    private static final String SKIPPED_HEADER = "X-Embedding-Skipped";
+
     private final SearchService searchService;
-    private final SyncService syncService;
+    private final SyncConfigRegistry configRegistry;
     private final EmbeddingService embeddingService;
     private final EmbeddingDao embeddingDao;
+    private final EmbeddingJobDao embeddingJobDao;
     private final WorkItemDao workItemDao;
     private final WorkItemCommentDao commentDao;
+    private final QueryEmbeddingCache queryEmbeddingCache;
+    private final SearchPlanCache planCache;
 
-    public SearchController(SearchService searchService, SyncService syncService,
+    public SearchController(SearchService searchService, SyncConfigRegistry configRegistry,
                             EmbeddingService embeddingService, EmbeddingDao embeddingDao,
-                            WorkItemDao workItemDao, WorkItemCommentDao commentDao) {
+                            EmbeddingJobDao embeddingJobDao, WorkItemDao workItemDao,
+                            WorkItemCommentDao commentDao, QueryEmbeddingCache queryEmbeddingCache,
+                            SearchPlanCache planCache) {
         this.searchService = searchService;
-        this.syncService = syncService;
+        this.configRegistry = configRegistry;
         this.embeddingService = embeddingService;
         this.embeddingDao = embeddingDao;
+        this.embeddingJobDao = embeddingJobDao;
         this.workItemDao = workItemDao;
         this.commentDao = commentDao;
+        this.queryEmbeddingCache = queryEmbeddingCache;
+        this.planCache = planCache;
+    }
+
+    private Long resolveSyncConfigId(Long configId) {
+        return configId != null ? configRegistry.get(configId).id() : configRegistry.defaultConfig().id();
     }
 
     @PostMapping
-    public SmartSearchResult search(@RequestBody SmartSearchRequest request) {
-        Long syncConfigId = syncService.getOrCreateDefaultConfig().id();
+    public SmartSearchResult search(@PathVariable(required = false) Long configId,
+                                    @RequestBody SmartSearchRequest request) {
+        Long syncConfigId = resolveSyncConfigId(configId);
         return searchService.smartSearch(request.query(), syncConfigId);
     }
 
     @PostMapping("/reindex")
-    public Map<String, Object> reindex() {
-        Long syncConfigId = syncService.getOrCreateDefaultConfig().id();
+    public Map<String, Object> reindex(@PathVariable(required = false) Long configId,
+                                       @RequestParam(defaultValue = "false") boolean force) {
+        Long syncConfigId = resolveSyncConfigId(configId);
         List<WorkItem> allItems = workItemDao.findBySyncConfigId(syncConfigId);
 
         int processed = 0;
+        int skipped = 0;
         int failed = 0;
 
-        for (WorkItem item : allItems) {
-            try {
-                List<WorkItemComment> comments = commentDao.findByWorkItemId(item.id(), syncConfigId);
-                embeddingService.generateForWorkItem(item, comments);
-                processed++;
-                if (processed % 10 == 0) {
-                    log.info("Reindex progress: {}/{}", processed, allItems.size());
-                }
-            } catch (Exception e) {
-                log.warn("Failed to generate embedding for work item {}: {}", item.id(), e.getMessage());
-                failed++;
+        // Summaries are embedded a chunk at a time, so each chunk costs a single embeddings request
+        for (int start = 0; start < allItems.size(); start += REINDEX_CHUNK_SIZE) {
+            List<WorkItem> chunk = allItems.subList(start, Math.min(start + REINDEX_CHUNK_SIZE, allItems.size()));
+            List<List<WorkItemComment>> comments = new ArrayList<>(chunk.size());
+            for (WorkItem item : chunk) {
+                comments.add(commentDao.findByWorkItemId(item.id(), syncConfigId));
             }
+
+            EmbeddingBatchResult result = embeddingService.generateForWorkItems(chunk, comments, force);
+            result.errors().forEach((position, error) ->
+                    log.warn("Failed to generate embedding for work item {}: {}", chunk.get(position).id(), error));
+            processed += result.generated();
+            skipped += result.skipped();
+            failed += result.errors().size();
+            log.info("Reindex progress: {}/{}", processed + skipped + failed, allItems.size());
         }
 
-        log.info("Reindex complete: processed={}, failed={}, total={}", processed, failed, allItems.size());
+        log.info("Reindex complete: processed={}, skipped={}, failed={}, total={}",
+                processed, skipped, failed, allItems.size());
         return Map.of(
                 "processed", processed,
+                "skipped", skipped,
                 "failed", failed,
                 "total", allItems.size()
         );
     }
 
     @GetMapping("/summary/{workItemId}")
-    public ResponseEntity<EmbeddingSummary> getSummary(@PathVariable Integer workItemId) {
-        Long syncConfigId = syncService.getOrCreateDefaultConfig().id();
+    public ResponseEntity<EmbeddingSummary> getSummary(@PathVariable(required = false) Long configId,
+                                                       @PathVariable Integer workItemId) {
+        Long syncConfigId = resolveSyncConfigId(configId);
         EmbeddingSummary summary = embeddingDao.findByWorkItemId(workItemId, syncConfigId);
         return summary != null ? ResponseEntity.ok(summary) : ResponseEntity.notFound().build();
     }
 
     @PostMapping("/refresh/{workItemId}")
-    public ResponseEntity<EmbeddingSummary> refreshEmbedding(@PathVariable Integer workItemId) {
-        Long syncConfigId = syncService.getOrCreateDefaultConfig().id();
+    public ResponseEntity<EmbeddingSummary> refreshEmbedding(@PathVariable(required = false) Long configId,
+                                                             @PathVariable Integer workItemId,
+                                                             @RequestParam(defaultValue = "false") boolean force) {
+        Long syncConfigId = resolveSyncConfigId(configId);
         WorkItem item = workItemDao.findById(workItemId, syncConfigId);
         if (item == null) {
             return ResponseEntity.notFound().build();
         }
 
         List<WorkItemComment> comments = commentDao.findByWorkItemId(workItemId, syncConfigId);
-        embeddingService.generateForWorkItem(item, comments);
+        boolean generated = embeddingService.generateForWorkItem(item, comments, force);
 
+        // Skipped when the stored summary was generated from the same content, prompt and models
         EmbeddingSummary summary = embeddingDao.findByWorkItemId(workItemId, syncConfigId);
-        return ResponseEntity.ok(summary);
+        return ResponseEntity.ok()
+                .header(SKIPPED_HEADER, String.valueOf(generated ? 0 : 1))
+                .body(summary);
+    }
+
+    @GetMapping("/cache")
+    public Map<String, Object> cacheStats() {
+        return Map.of(
+                "queryEmbeddings", queryEmbeddingCache.stats(),
+                "plans", planCache.stats()
+        );
+    }
+
+    @DeleteMapping("/cache/plans")
+    public ResponseEntity<Void> invalidatePlans() {
+        planCache.invalidate();
+        return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/status")
-    public Map<String, Object> status() {
-        Long syncConfigId = syncService.getOrCreateDefaultConfig().id();
+    public Map<String, Object> status(@PathVariable(required = false) Long configId) {
+        Long syncConfigId = resolveSyncConfigId(configId);
         int embeddingCount = embeddingDao.countBySyncConfigId(syncConfigId);
         List<Integer> allIds = workItemDao.findAllIds(syncConfigId);
+        Map<String, Long> queue = new LinkedHashMap<>();
+        for (Map<String, Object> row : embeddingJobDao.countByStatus(syncConfigId)) {
+            queue.put(String.valueOf(row.get("status")), ((Number) row.get("count")).longValue());
+        }
         return Map.of(
                 "embeddingsCount", embeddingCount,
                 "workItemsCount", allIds.size(),
-                "coverage", allIds.isEmpty() ? 0 : (embeddingCount * 100 / allIds.size()) + "%"
+                "coverage", allIds.isEmpty() ? 0 : (embeddingCount * 100 / allIds.size()) + "%",
+                "embeddingQueue", queue,
+                "embeddingOutcomes", embeddingService.outcomeCounts()
         );
     }
 }
@@ -0,0 +1,50 @@
+package dev.adolab.transport.rest.controller;
+
+import dev.adolab.domain.sync.SyncConfigRegistry;
+import dev.adolab.domain.sync.SyncConfigRequest;
+import dev.adolab.domain.sync.SyncOrchestrator;
+import dev.adolab.domain.sync.SyncResult;
+import dev.adolab.domain.workitem.entity.SyncConfig;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/configs")
+public class SyncConfigController {
+
+    private final SyncConfigRegistry configRegistry;
+    private final SyncOrchestrator syncOrchestrator;
+
+    public SyncConfigController(SyncConfigRegistry configRegistry, SyncOrchestrator syncOrchestrator) {
+        this.configRegistry = configRegistry;
+        this.syncOrchestrator = syncOrchestrator;
+    }
+
+    @GetMapping
+    public List<SyncConfig> list() {
+        return configRegistry.all();
+    }
+
+    @GetMapping("/{configId}")
+    public SyncConfig get(@PathVariable Long configId) {
+        return configRegistry.get(configId);
+    }
+
+    @PostMapping
+    public SyncConfig create(@RequestBody SyncConfigRequest request) {
+        return configRegistry.create(request.name(), request.areaPath());
+    }
+
+    @DeleteMapping("/{configId}")
+    public ResponseEntity<Void> delete(@PathVariable Long configId) {
+        configRegistry.delete(configId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/sync")
+    public List<SyncResult> syncAll() {
+        return syncOrchestrator.syncAll();
+    }
+}
@@ -1,29 +1,46 @@
 package dev.adolab.transport.rest.controller;
 
 import dev.adolab.config.AzureDevOpsProperties;
-import dev.adolab.domain.sync.SyncResult;
+import dev.adolab.domain.azure.AzureResponseCache;
+import dev.adolab.domain.azure.dto.AzureCacheStats;
+import dev.adolab.domain.sync.SyncConfigRegistry;
+import dev.adolab.domain.sync.SyncJob;
+import dev.adolab.domain.sync.SyncJobService;
+import dev.adolab.domain.sync.SyncRunReport;
 import dev.adolab.domain.sync.SyncService;
 import dev.adolab.domain.workitem.entity.SyncConfig;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 
 @RestController
-@RequestMapping("/api/sync")
+@RequestMapping({"/api/sync", "/api/configs/{configId}/sync"})
 public class SyncController {
 
+    private final SyncConfigRegistry configRegistry;
+    private final SyncJobService syncJobService;
     private final SyncService syncService;
     private final AzureDevOpsProperties azureProps;
+    private final AzureResponseCache azureResponseCache;
 
-    public SyncController(SyncService syncService, AzureDevOpsProperties azureProps) {
+    public SyncController(SyncConfigRegistry configRegistry, SyncJobService syncJobService, SyncService syncService,
+                          AzureDevOpsProperties azureProps, AzureResponseCache azureResponseCache) {
+        this.configRegistry = configRegistry;
+        this.syncJobService = syncJobService;
         this.syncService = syncService;
         this.azureProps = azureProps;
+        this.azureResponseCache = azureResponseCache;
+    }
+
+    private SyncConfig resolveConfig(Long configId) {
+        return configId != null ? configRegistry.get(configId) : configRegistry.defaultConfig();
     }
 
     @GetMapping("/config")
-    public SyncConfig getConfig() {
-        return syncService.getOrCreateDefaultConfig();
+    public SyncConfig getConfig(@PathVariable(required = false) Long configId) {
+        return resolveConfig(configId);
     }
 
     @GetMapping("/azure-info")
@@ -35,10 +52,34 @@ public class SyncController {
         );
     }
 
+    @GetMapping("/azure-cache")
+    public AzureCacheStats getAzureCacheStats() {
+        return azureResponseCache.stats();
+    }
+
+    /**
+     * Starts a sync in the background. Follow it through {@code /api/sync/jobs/{jobId}} or its event stream.
+     */
     @PostMapping("/execute")
-    public ResponseEntity<SyncResult> execute() {
-        SyncConfig config = syncService.getOrCreateDefaultConfig();
-        SyncResult result = syncService.sync(config.id());
-        return ResponseEntity.ok(result);
+    public ResponseEntity<SyncJob> execute(@PathVariable(required = false) Long configId) {
+        SyncConfig config = resolveConfig(configId);
+        SyncJob job = syncJobService.submit(config.id());
+        return ResponseEntity.accepted().body(job);
+    }
+
+    @GetMapping("/runs")
+    public List<SyncRunReport> getRuns(@PathVariable(required = false) Long configId,
+                                       @RequestParam(defaultValue = "20") int limit) {
+        return syncService.history(resolveConfig(configId).id(), limit);
+    }
+
+    /**
+     * Starts a revision history ingest in the background; the job's {@code revisions} holds the outcome.
+     */
+    @PostMapping("/revisions")
+    public ResponseEntity<SyncJob> ingestRevisions(@PathVariable(required = false) Long configId) {
+        SyncConfig config = resolveConfig(configId);
+        SyncJob job = syncJobService.submitRevisionIngest(config.id());
+        return ResponseEntity.accepted().body(job);
     }
 }
@@ -0,0 +1,72 @@
+package dev.adolab.transport.rest.controller;
+
+import dev.adolab.config.SyncProperties;
+import dev.adolab.domain.sync.SyncJob;
+import dev.adolab.domain.sync.SyncJobService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@RestController
+@RequestMapping("/api/sync/jobs")
+public class SyncJobController {
+
+    private static final Logger log = LoggerFactory.getLogger(SyncJobController.class);
+
+    private final SyncJobService syncJobService;
+    private final SyncProperties syncProps;
+
+    public SyncJobController(SyncJobService syncJobService, SyncProperties syncProps) {
+        this.syncJobService = syncJobService;
+        this.syncProps = syncProps;
+    }
+
+    @GetMapping("/{jobId}")
+    public SyncJob getJob(@PathVariable String jobId) {
+        return syncJobService.get(jobId);
+    }
+
+    /**
+     * Sends the job every {@code sync.job-event-interval}: {@code progress} events while it runs, then a
+     * single {@code result} event before the stream completes. The stream is closed after
+     * {@code sync.job-events-timeout}.
+     */
+    @GetMapping(value = "/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@PathVariable String jobId) {
+        syncJobService.get(jobId);
+        SseEmitter emitter = new SseEmitter(syncProps.jobEventsTimeout().toMillis());
+        AtomicBoolean open = new AtomicBoolean(true);
+        emitter.onCompletion(() -> open.set(false));
+        emitter.onTimeout(() -> open.set(false));
+        emitter.onError(e -> open.set(false));
+
+        Thread.ofVirtual().name("sync-job-events-" + jobId).start(() -> {
+            try {
+                while (open.get()) {
+                    SyncJob job = syncJobService.get(jobId);
+                    emitter.send(SseEmitter.event()
+                            .name(job.finished() ? "result" : "progress")
+                            .data(job));
+                    if (job.finished()) {
+                        emitter.complete();
+                        return;
+                    }
+                    Thread.sleep(syncProps.jobEventInterval());
+                }
+            } catch (IOException e) {
+                log.debug("Event stream for sync job {} closed by client", jobId);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                emitter.complete();
+            } catch (RuntimeException e) {
+                emitter.completeWithError(e);
+            }
+        });
+        return emitter;
+    }
+}
@@ -0,0 +1,33 @@
+package dev.adolab.transport.rest.controller;
+
+import dev.adolab.domain.sync.SyncScheduleStatus;
+import dev.adolab.domain.sync.SyncScheduler;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/sync/schedule")
+public class SyncScheduleController {
+
+    private final SyncScheduler syncScheduler;
+
+    public SyncScheduleController(SyncScheduler syncScheduler) {
+        this.syncScheduler = syncScheduler;
+    }
+
+    @GetMapping
+    public SyncScheduleStatus getSchedule() {
+        return syncScheduler.status();
+    }
+
+    @PostMapping("/pause")
+    public SyncScheduleStatus pause() {
+        syncScheduler.pause();
+        return syncScheduler.status();
+    }
+
+    @PostMapping("/resume")
+    public SyncScheduleStatus resume() {
+        syncScheduler.resume();
+        return syncScheduler.status();
+    }
+}
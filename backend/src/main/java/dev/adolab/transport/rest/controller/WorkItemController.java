@@ -1,10 +1,13 @@
 package dev.adolab.transport.rest.controller;
 
-import dev.adolab.domain.sync.SyncService;
+import dev.adolab.domain.sync.SyncConfigRegistry;
 import dev.adolab.domain.workitem.WorkItemService;
 import dev.adolab.domain.workitem.entity.WorkItem;
 import dev.adolab.domain.workitem.entity.WorkItemComment;
 import dev.adolab.domain.workitem.entity.WorkItemFilter;
+import dev.adolab.domain.workitem.entity.WorkItemRevision;
+import dev.adolab.domain.workitem.entity.WorkItemRollup;
+import dev.adolab.domain.workitem.entity.WorkItemTreeNode;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -12,23 +15,24 @@ import java.util.List;
 import java.util.Map;
 
 @RestController
-@RequestMapping("/api/workitems")
+@RequestMapping({"/api/workitems", "/api/configs/{configId}/workitems"})
 public class WorkItemController {
 
     private final WorkItemService workItemService;
-    private final SyncService syncService;
+    private final SyncConfigRegistry configRegistry;
 
-    public WorkItemController(WorkItemService workItemService, SyncService syncService) {
+    public WorkItemController(WorkItemService workItemService, SyncConfigRegistry configRegistry) {
         this.workItemService = workItemService;
-        this.syncService = syncService;
+        this.configRegistry = configRegistry;
     }
 
-    private Long getDefaultSyncConfigId() {
-        return syncService.getOrCreateDefaultConfig().id();
+    private Long resolveSyncConfigId(Long configId) {
+        return configId != null ? configRegistry.get(configId).id() : configRegistry.defaultConfig().id();
     }
 
     @GetMapping
     public List<WorkItem> search(
+            @PathVariable(required = false) Long configId,
             @RequestParam(required = false) String type,
             @RequestParam(required = false) String state,
             @RequestParam(required = false) String assignedTo,
@@ -40,35 +44,59 @@ public class WorkItemController {
             @RequestParam(required = false, defaultValue = "0") Integer offset
     ) {
         WorkItemFilter filter = new WorkItemFilter(
-                getDefaultSyncConfigId(), type, state, assignedTo, q, iterationPath,
+                resolveSyncConfigId(configId), type, state, assignedTo, q, iterationPath,
                 sortBy, sortDir, limit, offset
         );
         return workItemService.search(filter);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<WorkItem> getById(@PathVariable Integer id) {
-        WorkItem item = workItemService.getById(id, getDefaultSyncConfigId());
+    public ResponseEntity<WorkItem> getById(@PathVariable(required = false) Long configId, @PathVariable Integer id) {
+        WorkItem item = workItemService.getById(id, resolveSyncConfigId(configId));
         return item != null ? ResponseEntity.ok(item) : ResponseEntity.notFound().build();
     }
 
     @GetMapping("/{id}/children")
-    public List<WorkItem> getChildren(@PathVariable Integer id) {
-        return workItemService.getChildren(id, getDefaultSyncConfigId());
+    public List<WorkItem> getChildren(@PathVariable(required = false) Long configId, @PathVariable Integer id) {
+        return workItemService.getChildren(id, resolveSyncConfigId(configId));
+    }
+
+    @GetMapping("/{id}/tree")
+    public ResponseEntity<WorkItemTreeNode> getTree(@PathVariable(required = false) Long configId,
+                                                    @PathVariable Integer id,
+                                                    @RequestParam(required = false) Integer maxDepth) {
+        WorkItemTreeNode tree = workItemService.getTree(id, resolveSyncConfigId(configId), maxDepth);
+        return tree != null ? ResponseEntity.ok(tree) : ResponseEntity.notFound().build();
+    }
+
+    @GetMapping("/{id}/rollup")
+    public WorkItemRollup getRollup(@PathVariable(required = false) Long configId, @PathVariable Integer id) {
+        return workItemService.getRollups(List.of(id), resolveSyncConfigId(configId)).get(id);
+    }
+
+    @GetMapping("/rollups")
+    public Map<Integer, WorkItemRollup> getRollups(@PathVariable(required = false) Long configId,
+                                                   @RequestParam List<Integer> ids) {
+        return workItemService.getRollups(ids, resolveSyncConfigId(configId));
     }
 
     @GetMapping("/{id}/comments")
-    public List<WorkItemComment> getComments(@PathVariable Integer id) {
-        return workItemService.getComments(id, getDefaultSyncConfigId());
+    public List<WorkItemComment> getComments(@PathVariable(required = false) Long configId, @PathVariable Integer id) {
+        return workItemService.getComments(id, resolveSyncConfigId(configId));
+    }
+
+    @GetMapping("/{id}/revisions")
+    public List<WorkItemRevision> getRevisions(@PathVariable(required = false) Long configId, @PathVariable Integer id) {
+        return workItemService.getRevisions(id, resolveSyncConfigId(configId));
     }
 
     @GetMapping("/metadata")
-    public Map<String, Object> getMetadata() {
-        return workItemService.getMetadata(getDefaultSyncConfigId());
+    public Map<String, Object> getMetadata(@PathVariable(required = false) Long configId) {
+        return workItemService.getMetadata(resolveSyncConfigId(configId));
     }
 
     @GetMapping("/counts")
-    public Map<String, Integer> getStateCounts() {
-        return workItemService.getStateCounts(getDefaultSyncConfigId());
+    public Map<String, Integer> getStateCounts(@PathVariable(required = false) Long configId) {
+        return workItemService.getStateCounts(resolveSyncConfigId(configId));
     }
 }
@@ -0,0 +1 @@
+ALTER TABLE sync_config ADD COLUMN last_reconciled TIMESTAMP;
@@ -0,0 +1,27 @@
+CREATE TABLE work_item_revision (
+    sync_config_id BIGINT NOT NULL REFERENCES sync_config(id) ON DELETE CASCADE,
+    work_item_id   INTEGER NOT NULL,
+    rev            INTEGER NOT NULL,
+    changed_date   TIMESTAMP,
+    changed_by     VARCHAR(200),
+    changes        JSONB NOT NULL,
+    PRIMARY KEY (sync_config_id, work_item_id, rev)
+);
+
+CREATE INDEX idx_work_item_revision_changed ON work_item_revision(sync_config_id, changed_date);
+
+-- Latest tracked field values per item, used to turn full revisions into deltas
+CREATE TABLE work_item_revision_head (
+    sync_config_id BIGINT NOT NULL REFERENCES sync_config(id) ON DELETE CASCADE,
+    work_item_id   INTEGER NOT NULL,
+    rev            INTEGER NOT NULL,
+    fields         JSONB NOT NULL,
+    PRIMARY KEY (sync_config_id, work_item_id)
+);
+
+CREATE TABLE revision_ingest_cursor (
+    sync_config_id     BIGINT PRIMARY KEY REFERENCES sync_config(id) ON DELETE CASCADE,
+    continuation_token TEXT,
+    revisions_ingested BIGINT NOT NULL DEFAULT 0,
+    updated_at         TIMESTAMP NOT NULL DEFAULT now()
+);
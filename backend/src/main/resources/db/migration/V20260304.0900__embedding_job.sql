@@ -0,0 +1,22 @@
+CREATE TABLE embedding_job (
+    work_item_id    INTEGER NOT NULL,
+    sync_config_id  BIGINT NOT NULL,
+    status          VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    activity_at     TIMESTAMP,
+    version         INTEGER NOT NULL DEFAULT 1,
+    attempts        INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT now(),
+    locked_by       VARCHAR(200),
+    locked_at       TIMESTAMP,
+    last_error      TEXT,
+    created_at      TIMESTAMP NOT NULL DEFAULT now(),
+    updated_at      TIMESTAMP NOT NULL DEFAULT now(),
+    PRIMARY KEY (work_item_id, sync_config_id),
+    FOREIGN KEY (work_item_id, sync_config_id)
+        REFERENCES work_item(id, sync_config_id) ON DELETE CASCADE
+);
+
+-- Claim order: most recently active items first
+CREATE INDEX idx_embedding_job_claim ON embedding_job(activity_at DESC NULLS LAST, next_attempt_at)
+    WHERE status = 'PENDING';
+CREATE INDEX idx_embedding_job_running ON embedding_job(locked_at) WHERE status = 'RUNNING';
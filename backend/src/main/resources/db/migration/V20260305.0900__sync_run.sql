@@ -0,0 +1,21 @@
+CREATE TABLE sync_run (
+    id              BIGSERIAL PRIMARY KEY,
+    sync_config_id  BIGINT NOT NULL REFERENCES sync_config(id) ON DELETE CASCADE,
+    mode            VARCHAR(20) NOT NULL,
+    status          VARCHAR(20) NOT NULL DEFAULT 'RUNNING',
+    phase           VARCHAR(20) NOT NULL,
+    cursor_at       TIMESTAMP NOT NULL,
+    target_ids      INTEGER[] NOT NULL DEFAULT '{}',
+    processed_ids   INTEGER[] NOT NULL DEFAULT '{}',
+    deleted_ids     INTEGER[] NOT NULL DEFAULT '{}',
+    new_count       INTEGER NOT NULL DEFAULT 0,
+    changed_count   INTEGER NOT NULL DEFAULT 0,
+    items_persisted INTEGER NOT NULL DEFAULT 0,
+    comments_synced INTEGER NOT NULL DEFAULT 0,
+    error           TEXT,
+    started_at      TIMESTAMP NOT NULL DEFAULT now(),
+    finished_at     TIMESTAMP,
+    updated_at      TIMESTAMP NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_sync_run_config ON sync_run(sync_config_id, started_at DESC);
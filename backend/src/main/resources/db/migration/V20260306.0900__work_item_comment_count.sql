@@ -0,0 +1 @@
+ALTER TABLE work_item ADD COLUMN comment_count INTEGER;
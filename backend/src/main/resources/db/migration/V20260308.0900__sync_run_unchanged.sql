@@ -0,0 +1 @@
+ALTER TABLE sync_run ADD COLUMN items_unchanged INTEGER NOT NULL DEFAULT 0;
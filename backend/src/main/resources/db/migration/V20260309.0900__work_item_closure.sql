@@ -0,0 +1,23 @@
+-- Ancestor/descendant pairs of the parent_id hierarchy, including a depth 0 row per item
+CREATE TABLE work_item_closure (
+    sync_config_id  BIGINT NOT NULL REFERENCES sync_config(id) ON DELETE CASCADE,
+    ancestor_id     INTEGER NOT NULL,
+    descendant_id   INTEGER NOT NULL,
+    depth           INTEGER NOT NULL,
+    PRIMARY KEY (sync_config_id, ancestor_id, descendant_id)
+);
+
+CREATE INDEX idx_work_item_closure_descendant ON work_item_closure(sync_config_id, descendant_id, depth);
+CREATE INDEX idx_work_item_closure_ancestor_depth ON work_item_closure(sync_config_id, ancestor_id, depth);
+
+INSERT INTO work_item_closure (sync_config_id, ancestor_id, descendant_id, depth)
+WITH RECURSIVE paths (sync_config_id, ancestor_id, descendant_id, depth) AS (
+    SELECT sync_config_id, id, id, 0 FROM work_item
+    UNION ALL
+    SELECT p.sync_config_id, p.ancestor_id, w.id, p.depth + 1
+    FROM paths p
+    JOIN work_item w ON w.sync_config_id = p.sync_config_id AND w.parent_id = p.descendant_id
+    WHERE p.depth < 64
+)
+SELECT sync_config_id, ancestor_id, descendant_id, depth FROM paths
+ON CONFLICT DO NOTHING;
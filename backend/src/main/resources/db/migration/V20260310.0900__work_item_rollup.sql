@@ -0,0 +1,19 @@
+-- Per-ancestor counts of descendants by type and state, with summed remaining work where present
+CREATE TABLE work_item_rollup (
+    sync_config_id  BIGINT NOT NULL REFERENCES sync_config(id) ON DELETE CASCADE,
+    ancestor_id     INTEGER NOT NULL,
+    work_item_type  VARCHAR(100) NOT NULL,
+    state           VARCHAR(100) NOT NULL,
+    item_count      INTEGER NOT NULL,
+    remaining_work  DOUBLE PRECISION,
+    PRIMARY KEY (sync_config_id, ancestor_id, work_item_type, state)
+);
+
+INSERT INTO work_item_rollup (sync_config_id, ancestor_id, work_item_type, state, item_count, remaining_work)
+SELECT c.sync_config_id, c.ancestor_id, w.work_item_type, w.state, COUNT(*),
+       SUM(CASE WHEN jsonb_typeof(w.raw_fields -> 'Microsoft.VSTS.Scheduling.RemainingWork') = 'number'
+                THEN (w.raw_fields ->> 'Microsoft.VSTS.Scheduling.RemainingWork')::DOUBLE PRECISION END)
+FROM work_item_closure c
+JOIN work_item w ON w.sync_config_id = c.sync_config_id AND w.id = c.descendant_id
+WHERE c.depth > 0
+GROUP BY c.sync_config_id, c.ancestor_id, w.work_item_type, w.state;
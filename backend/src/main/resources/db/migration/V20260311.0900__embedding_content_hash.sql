@@ -0,0 +1,2 @@
+-- SHA-256 of the summarizer input, prompt and models an embedding was generated from
+ALTER TABLE work_item_embedding ADD COLUMN content_hash VARCHAR(64);
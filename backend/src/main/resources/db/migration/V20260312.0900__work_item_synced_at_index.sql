@@ -0,0 +1,2 @@
+-- Items written since a point in time, for the closure and rollup maintenance after each run
+CREATE INDEX idx_work_item_synced_at ON work_item(sync_config_id, synced_at);
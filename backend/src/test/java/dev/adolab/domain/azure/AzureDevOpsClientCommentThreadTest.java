@@ -0,0 +1,159 @@
+package dev.adolab.domain.azure;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import dev.adolab.config.AzureCacheProperties;
+import dev.adolab.config.AzureDevOpsProperties;
+import dev.adolab.domain.azure.dto.AzureCommentListResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link AzureDevOpsClient#getWorkItemCommentThread} and {@link AzureResponseCache} against a stub Azure
+ * server, covering the three ways a revalidated thread can come back.
+ */
+class AzureDevOpsClientCommentThreadTest {
+
+    private static final String SCOPE = "1";
+    private static final int WORK_ITEM = 7;
+
+    private HttpServer server;
+    private final List<String> ifNoneMatch = new CopyOnWriteArrayList<>();
+    private volatile String body = thread("first");
+    private volatile String etag;
+
+    private AzureResponseCache cache;
+    private AzureDevOpsClient client;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            String conditional = exchange.getRequestHeaders().getFirst("If-None-Match");
+            ifNoneMatch.add(conditional != null ? conditional : "");
+            if (etag != null && etag.equals(conditional)) {
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            if (etag != null) {
+                exchange.getResponseHeaders().add("ETag", etag);
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            exchange.getResponseBody().write(bytes);
+            exchange.close();
+        });
+        server.start();
+
+        String baseUrl = "http://localhost:" + server.getAddress().getPort();
+        ObjectMapper objectMapper = new ObjectMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        RestClient restClient = RestClient.builder()
+                .requestFactory(new JdkClientHttpRequestFactory())
+                .build();
+        cache = new AzureResponseCache(new AzureCacheProperties(true, 100));
+        client = new AzureDevOpsClient(restClient, new AzureDevOpsProperties("org", "project", "pat", baseUrl,
+                "7.1", "Area"), new AzureWorkItemDecoder(objectMapper), cache, objectMapper);
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void notModifiedReplyToIfNoneMatchIsUnchanged() {
+        etag = "\"v1\"";
+        AzureDevOpsClient.CommentThread first = fetch(true);
+        assertThat(first.unchanged()).isFalse();
+        assertThat(texts(first)).containsExactly("first");
+        assertThat(first.validator().entry().etag()).isEqualTo("\"v1\"");
+        cache.putAll(List.of(first.validator()));
+
+        AzureDevOpsClient.CommentThread second = fetch(true);
+
+        assertThat(ifNoneMatch).containsExactly("", "\"v1\"");
+        assertThat(second.unchanged()).isTrue();
+        assertThat(second.comments()).isEmpty();
+        assertThat(cache.stats().notModified()).isEqualTo(1);
+    }
+
+    @Test
+    void identicalBodyWithoutEtagIsUnchangedByDigest() {
+        AzureDevOpsClient.CommentThread first = fetch(true);
+        cache.putAll(List.of(first.validator()));
+
+        AzureDevOpsClient.CommentThread second = fetch(true);
+
+        assertThat(ifNoneMatch).containsExactly("", "");
+        assertThat(second.unchanged()).isTrue();
+        assertThat(second.comments()).isEmpty();
+        assertThat(second.validator().entry().digest()).isEqualTo(first.validator().entry().digest());
+        assertThat(cache.stats().unchangedBodies()).isEqualTo(1);
+    }
+
+    @Test
+    void changedBodyIsReturnedWithNewValidator() {
+        AzureDevOpsClient.CommentThread first = fetch(true);
+        cache.putAll(List.of(first.validator()));
+        body = thread("edited");
+
+        AzureDevOpsClient.CommentThread second = fetch(true);
+
+        assertThat(second.unchanged()).isFalse();
+        assertThat(texts(second)).containsExactly("edited");
+        assertThat(second.validator().entry().digest()).isNotEqualTo(first.validator().entry().digest());
+        assertThat(cache.stats().misses()).isEqualTo(2);
+    }
+
+    @Test
+    void validatorCountsOnlyOnceCommitted() {
+        etag = "\"v1\"";
+        fetch(true);
+
+        AzureDevOpsClient.CommentThread second = fetch(true);
+
+        assertThat(ifNoneMatch).containsExactly("", "");
+        assertThat(second.unchanged()).isFalse();
+        assertThat(texts(second)).containsExactly("first");
+    }
+
+    @Test
+    void unconditionalFetchIgnoresCachedValidator() {
+        etag = "\"v1\"";
+        cache.putAll(List.of(fetch(true).validator()));
+
+        AzureDevOpsClient.CommentThread second = fetch(false);
+
+        assertThat(ifNoneMatch).containsExactly("", "");
+        assertThat(second.unchanged()).isFalse();
+        assertThat(texts(second)).containsExactly("first");
+    }
+
+    private AzureDevOpsClient.CommentThread fetch(boolean allowUnchanged) {
+        return client.getWorkItemCommentThread("org", "project", WORK_ITEM, SCOPE, allowUnchanged);
+    }
+
+    private static List<String> texts(AzureDevOpsClient.CommentThread thread) {
+        return thread.comments().stream().map(AzureCommentListResponse.AzureComment::text).toList();
+    }
+
+    private static String thread(String text) {
+        return "{\"totalCount\":1,\"count\":1,\"comments\":[{\"id\":5,\"workItemId\":" + WORK_ITEM
+                + ",\"text\":\"" + text + "\",\"version\":1}]}";
+    }
+}
@@ -0,0 +1,113 @@
+package dev.adolab.domain.azure;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.adolab.domain.azure.dto.AzureWorkItemRecord;
+import dev.adolab.domain.azure.dto.AzureWorkItemResponse;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Allocation and time per item of {@link AzureWorkItemDecoder} against the map-based decode it replaced
+ * ({@code readValue} into {@link AzureWorkItemResponse} plus {@code writeValueAsString(fields)} for
+ * {@code raw_fields}), on a synthetic 200-item batch shaped like a real {@code workitemsbatch} response.
+ * <p>
+ * Not a test; run {@link #main} from the IDE, or after {@code mvn test-compile} with
+ * {@code java -cp target/test-classes:target/classes:<dependency classpath>
+ * dev.adolab.domain.azure.AzureWorkItemDecoderBenchmark}. Allocation is measured with the thread's allocated
+ * bytes counter; the last of the rounds is the steady state.
+ */
+public class AzureWorkItemDecoderBenchmark {
+
+    private static final int ITEMS = 200;
+    private static final int ITERATIONS = 500;
+    private static final int ROUNDS = 3;
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record BatchResponse(int count, List<AzureWorkItemResponse> value) {}
+
+    public static void main(String[] args) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        AzureWorkItemDecoder decoder = new AzureWorkItemDecoder(objectMapper);
+        byte[] body = batch();
+        System.out.printf("batch: %d items, %d bytes%n", ITEMS, body.length);
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long sink = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long bytes0 = threads.getCurrentThreadAllocatedBytes();
+            long time0 = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                BatchResponse batch = objectMapper.readValue(body, BatchResponse.class);
+                for (AzureWorkItemResponse item : batch.value()) {
+                    sink += objectMapper.writeValueAsString(item.fields()).length();
+                }
+            }
+            long time1 = System.nanoTime();
+            long bytes1 = threads.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < ITERATIONS; i++) {
+                for (AzureWorkItemRecord item : decoder.decodeBatch(body)) {
+                    sink += item.rawFields().length();
+                }
+            }
+            long time2 = System.nanoTime();
+            long bytes2 = threads.getCurrentThreadAllocatedBytes();
+
+            double items = (double) ITERATIONS * ITEMS;
+            System.out.printf("round %d: map + reserialize %.1f KB, %.1f us per item | decoder %.1f KB, %.1f us per item%n",
+                    round, (bytes1 - bytes0) / items / 1024, (time1 - time0) / items / 1000,
+                    (bytes2 - bytes1) / items / 1024, (time2 - time1) / items / 1000);
+        }
+        // Keeps the JIT from dropping the decode loops
+        System.out.println("checksum " + sink);
+    }
+
+    // 40 fields per item, three identity objects, a 1.7 KB description and two relations
+    private static byte[] batch() {
+        Random random = new Random(1);
+        String identity = "{\"displayName\":\"Jan Kowalski\","
+                + "\"url\":\"https://spsprodweu5.vssps.visualstudio.com/A/_apis/Identities/abc\","
+                + "\"_links\":{\"avatar\":{\"href\":\"https://dev.azure.com/org/_apis/GraphProfile/MemberAvatars/aad.xyz\"}},"
+                + "\"id\":\"0f1e2d3c\",\"uniqueName\":\"jan@example.com\",\"imageUrl\":\"https://dev.azure.com/x\","
+                + "\"descriptor\":\"aad.xyz\"}";
+        StringBuilder json = new StringBuilder("{\"count\":").append(ITEMS).append(",\"value\":[");
+        for (int i = 0; i < ITEMS; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(1000 + i).append(",\"rev\":7,\"fields\":{")
+                    .append("\"System.AreaPath\":\"Proj\\\\Team\",\"System.TeamProject\":\"Proj\",")
+                    .append("\"System.IterationPath\":\"Proj\\\\Sprint 12\",\"System.WorkItemType\":\"User Story\",")
+                    .append("\"System.State\":\"Active\",\"System.Reason\":\"Moved\",")
+                    .append("\"System.AssignedTo\":").append(identity)
+                    .append(",\"System.CreatedBy\":").append(identity)
+                    .append(",\"System.ChangedBy\":").append(identity).append(',')
+                    .append("\"System.CreatedDate\":\"2025-03-01T10:11:12.123Z\",")
+                    .append("\"System.ChangedDate\":\"2025-06-01T10:11:12.45Z\",")
+                    .append("\"System.CommentCount\":3,\"System.Title\":\"Item title number ").append(i).append("\",")
+                    .append("\"System.BoardColumn\":\"Doing\",\"System.BoardColumnDone\":false,")
+                    .append("\"Microsoft.VSTS.Common.Priority\":2,")
+                    .append("\"Microsoft.VSTS.Common.StateChangeDate\":\"2025-05-01T10:11:12Z\",")
+                    .append("\"Microsoft.VSTS.Scheduling.StoryPoints\":5.0,")
+                    .append("\"System.Watermark\":").append(50000 + i).append(",\"System.Tags\":\"backend; api\",");
+            for (int k = 0; k < 15; k++) {
+                json.append("\"Custom.Field").append(k).append("\":\"value ").append(random.nextInt()).append("\",");
+            }
+            json.append("\"System.Description\":\"<div>")
+                    .append("Lorem ipsum dolor sit amet, consectetur adipiscing elit. ".repeat(30))
+                    .append("</div>\"}")
+                    .append(",\"relations\":[{\"rel\":\"System.LinkTypes.Hierarchy-Reverse\",")
+                    .append("\"url\":\"https://dev.azure.com/org/_apis/wit/workItems/42\",")
+                    .append("\"attributes\":{\"isLocked\":false,\"name\":\"Parent\"}},")
+                    .append("{\"rel\":\"ArtifactLink\",\"url\":\"vstfs:///Git/Commit/abc\",")
+                    .append("\"attributes\":{\"name\":\"Fixed in Commit\"}}]")
+                    .append(",\"_links\":{\"self\":{\"href\":\"https://dev.azure.com/x\"}},")
+                    .append("\"url\":\"https://dev.azure.com/org/_apis/wit/workItems/").append(1000 + i).append("\"}");
+        }
+        return json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
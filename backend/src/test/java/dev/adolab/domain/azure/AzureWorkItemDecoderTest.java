@@ -0,0 +1,160 @@
+package dev.adolab.domain.azure;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.adolab.domain.azure.dto.AzureWorkItemRecord;
+import dev.adolab.domain.azure.dto.AzureWorkItemResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link AzureWorkItemDecoder} against the map-based decode it replaced: {@code readValue} into
+ * {@link AzureWorkItemResponse}, the typed columns read from the field map and {@code raw_fields} written
+ * back with {@code writeValueAsString(fields)}.
+ */
+class AzureWorkItemDecoderTest {
+
+    private static final String IDENTITY = "{\"displayName\":\"Jan Kowalski\",\"uniqueName\":\"jan@example.com\","
+            + "\"_links\":{\"avatar\":{\"href\":\"https://dev.azure.com/x\"}},\"id\":\"0f1e2d3c\"}";
+    private static final String POLISH = "Zażółć gęślą jaźń";
+    private static final String WIDE = "日本語のタイトル 🚀";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AzureWorkItemDecoder decoder = new AzureWorkItemDecoder(objectMapper);
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record BatchResponse(int count, List<AzureWorkItemResponse> value) {}
+
+    @Test
+    void decodesTheSameRecordsAsTheMapPath() throws IOException {
+        byte[] body = batch();
+
+        List<AzureWorkItemRecord> decoded = decoder.decodeBatch(body);
+        List<AzureWorkItemRecord> expected = objectMapper.readValue(body, BatchResponse.class).value().stream()
+                .map(this::fromMap)
+                .toList();
+
+        assertThat(decoded).hasSize(4);
+        for (int i = 0; i < expected.size(); i++) {
+            AzureWorkItemRecord actual = decoded.get(i);
+            assertThat(actual).usingRecursiveComparison().ignoringFields("rawFields").isEqualTo(expected.get(i));
+            assertThat(objectMapper.readTree(actual.rawFields()))
+                    .isEqualTo(objectMapper.readTree(expected.get(i).rawFields()));
+        }
+    }
+
+    @Test
+    void identityFieldsAsObjectOrString() {
+        List<AzureWorkItemRecord> decoded = decoder.decodeBatch(batch());
+
+        assertThat(decoded.get(0).assignedTo()).isEqualTo("Jan Kowalski");
+        assertThat(decoded.get(0).createdBy()).isEqualTo("Jan Kowalski");
+        assertThat(decoded.get(1).assignedTo()).isEqualTo("Anna Nowak <anna@example.com>");
+        assertThat(decoded.get(1).changedBy()).isEqualTo("Anna Nowak <anna@example.com>");
+    }
+
+    @Test
+    void missingRelationsLeaveNoParent() {
+        List<AzureWorkItemRecord> decoded = decoder.decodeBatch(batch());
+
+        assertThat(decoded.get(0).parentId()).isEqualTo(42);
+        assertThat(decoded.get(1).parentId()).isNull();
+        assertThat(decoded.get(2).parentId()).isNull();
+    }
+
+    @Test
+    void rawFieldsAreSlicedOnUtf8ByteOffsets() {
+        List<AzureWorkItemRecord> decoded = decoder.decodeBatch(batch());
+
+        assertThat(decoded.get(2).title()).isEqualTo(POLISH);
+        assertThat(decoded.get(2).rawFields()).startsWith("{").endsWith("}").contains(POLISH);
+        // Follows items with multi-byte text, so any char/byte offset mix-up would cut it in the wrong place
+        assertThat(decoded.get(3).title()).isEqualTo(WIDE);
+        assertThat(decoded.get(3).description()).isEqualTo("café");
+        assertThat(decoded.get(3).rawFields()).startsWith("{\"System.Title\"").endsWith("}").contains(WIDE);
+    }
+
+    // Mirrors the WorkItemMapper field reads that ran on the Map<String, Object> before the decoder
+    private AzureWorkItemRecord fromMap(AzureWorkItemResponse item) {
+        Map<String, Object> fields = item.fields();
+        Integer parentId = null;
+        if (item.relations() != null) {
+            for (AzureWorkItemResponse.AzureRelation relation : item.relations()) {
+                if ("System.LinkTypes.Hierarchy-Reverse".equals(relation.rel())) {
+                    String url = relation.url();
+                    parentId = Integer.valueOf(url.substring(url.lastIndexOf('/') + 1));
+                    break;
+                }
+            }
+        }
+        try {
+            return new AzureWorkItemRecord(item.id(), item.rev(), string(fields, "System.Title"),
+                    string(fields, "System.WorkItemType"), string(fields, "System.State"),
+                    identity(fields, "System.AssignedTo"), string(fields, "System.Description"),
+                    integer(fields, "Microsoft.VSTS.Common.Priority"), string(fields, "System.Tags"),
+                    string(fields, "System.AreaPath"), string(fields, "System.IterationPath"), parentId,
+                    integer(fields, "System.Watermark"), string(fields, "System.CreatedDate"),
+                    string(fields, "System.ChangedDate"), identity(fields, "System.CreatedBy"),
+                    identity(fields, "System.ChangedBy"), integer(fields, "System.CommentCount"),
+                    objectMapper.writeValueAsString(fields));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String string(Map<String, Object> fields, String key) {
+        Object value = fields.get(key);
+        return value != null ? value.toString() : null;
+    }
+
+    private static String identity(Map<String, Object> fields, String key) {
+        if (fields.get(key) instanceof Map<?, ?> identity) {
+            Object displayName = identity.get("displayName");
+            return displayName != null ? displayName.toString() : null;
+        }
+        return string(fields, key);
+    }
+
+    private static Integer integer(Map<String, Object> fields, String key) {
+        return fields.get(key) instanceof Number number ? number.intValue() : null;
+    }
+
+    // Identities as objects and as plain strings, relations present, absent and empty, non-ASCII text both
+    // raw and JSON-escaped
+    private static byte[] batch() {
+        String json = "{\"count\":4,\"value\":["
+                + "{\"id\":1001,\"rev\":7,\"fields\":{"
+                + "\"System.AreaPath\":\"Proj\\\\Team\",\"System.IterationPath\":\"Proj\\\\Sprint 12\","
+                + "\"System.WorkItemType\":\"User Story\",\"System.State\":\"Active\","
+                + "\"System.AssignedTo\":" + IDENTITY + ",\"System.CreatedBy\":" + IDENTITY + ","
+                + "\"System.ChangedBy\":" + IDENTITY + ","
+                + "\"System.CreatedDate\":\"2025-03-01T10:11:12.123Z\","
+                + "\"System.ChangedDate\":\"2025-06-01T10:11:12.45Z\","
+                + "\"System.CommentCount\":3,\"System.Title\":\"First item\",\"Microsoft.VSTS.Common.Priority\":2,"
+                + "\"Microsoft.VSTS.Scheduling.StoryPoints\":5.0,\"System.Watermark\":50001,"
+                + "\"System.Tags\":\"backend; api\",\"Custom.Flags\":[1,2,3],\"System.BoardColumnDone\":false},"
+                + "\"relations\":[{\"rel\":\"ArtifactLink\",\"url\":\"vstfs:///Git/Commit/abc\",\"attributes\":{}},"
+                + "{\"rel\":\"System.LinkTypes.Hierarchy-Reverse\","
+                + "\"url\":\"https://dev.azure.com/org/_apis/wit/workItems/42\",\"attributes\":{\"isLocked\":false}}],"
+                + "\"url\":\"https://dev.azure.com/org/_apis/wit/workItems/1001\"},"
+                + "{\"id\":1002,\"rev\":1,\"fields\":{"
+                + "\"System.WorkItemType\":\"Bug\",\"System.State\":\"New\","
+                + "\"System.AssignedTo\":\"Anna Nowak <anna@example.com>\","
+                + "\"System.ChangedBy\":\"Anna Nowak <anna@example.com>\",\"System.Title\":\"No relations\","
+                + "\"System.Watermark\":50002,\"System.CommentCount\":0}},"
+                + "{\"id\":1003,\"rev\":2,\"fields\":{\"System.Title\":\"" + POLISH + "\","
+                + "\"System.Description\":\"<p>" + POLISH + " — ünïcödé</p>\",\"System.AssignedTo\":null,"
+                + "\"System.Watermark\":50003},\"relations\":[]},"
+                + "{\"id\":1004,\"rev\":3,\"fields\":{\"System.Title\":\"" + WIDE + "\","
+                + "\"System.Description\":\"caf\\u00e9\",\"System.Tags\":\"" + POLISH + "; 日本\","
+                + "\"System.Watermark\":50004}}"
+                + "]}";
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
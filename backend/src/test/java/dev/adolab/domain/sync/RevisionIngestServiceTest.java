@@ -0,0 +1,276 @@
+package dev.adolab.domain.sync;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import dev.adolab.config.AzureCacheProperties;
+import dev.adolab.config.AzureDevOpsProperties;
+import dev.adolab.config.SyncProperties;
+import dev.adolab.domain.azure.AzureDevOpsClient;
+import dev.adolab.domain.azure.AzureResponseCache;
+import dev.adolab.domain.azure.AzureWorkItemDecoder;
+import dev.adolab.domain.workitem.dao.SyncConfigDao;
+import dev.adolab.domain.workitem.dao.WorkItemRevisionDao;
+import dev.adolab.domain.workitem.entity.RevisionIngestCursor;
+import dev.adolab.domain.workitem.entity.SyncConfig;
+import dev.adolab.domain.workitem.entity.WorkItemRevision;
+import dev.adolab.domain.workitem.entity.WorkItemRevisionHead;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link RevisionIngestService} against a fake reporting revisions API, with the revision tables kept in
+ * memory with the same conflict rules as {@code WorkItemRevisionMapper.xml}.
+ */
+class RevisionIngestServiceTest {
+
+    private static final long CONFIG_ID = 1L;
+
+    // Three pages keyed by the continuation token that requests them; the last one reports isLastBatch
+    private static final Map<String, String> PAGES = Map.of(
+            "", page("t1", false,
+                    revision(10, 1, "New", "Team", "2025-01-01T10:00:00Z"),
+                    revision(11, 1, "New", "Team\\\\Sub", "2025-01-01T11:00:00Z"),
+                    revision(99, 1, "New", "Other", "2025-01-01T12:00:00Z")),
+            "t1", page("t2", false,
+                    revision(10, 2, "Active", "Team", "2025-01-02T10:00:00Z"),
+                    revision(11, 2, "New", "Team\\\\Sub", "2025-01-02T11:00:00Z")),
+            "t2", page("t3", true,
+                    revision(10, 3, "Closed", "Team", "2025-01-03T10:00:00Z")));
+
+    private HttpServer server;
+    private final List<String> requestedTokens = new CopyOnWriteArrayList<>();
+    private final InMemoryRevisionDao revisionDao = new InMemoryRevisionDao();
+    private AzureDevOpsClient azureClient;
+    private AzureDevOpsProperties azureProps;
+    private SyncConfigDao syncConfigDao;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/org/project/_apis/wit/reporting/workitemrevisions", exchange -> {
+            String token = queryParameter(exchange.getRequestURI().getRawQuery(), "continuationToken");
+            requestedTokens.add(token);
+            String page = PAGES.get(token);
+            byte[] bytes = (page != null ? page : page(token, true)).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            exchange.getResponseBody().write(bytes);
+            exchange.close();
+        });
+        server.start();
+
+        azureProps = new AzureDevOpsProperties("org", "project", "pat",
+                "http://localhost:" + server.getAddress().getPort(), "7.1", "Team");
+        ObjectMapper objectMapper = new ObjectMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        azureClient = new AzureDevOpsClient(
+                RestClient.builder().requestFactory(new JdkClientHttpRequestFactory()).build(), azureProps,
+                new AzureWorkItemDecoder(objectMapper), new AzureResponseCache(new AzureCacheProperties(false, 1)),
+                objectMapper);
+        syncConfigDao = mock(SyncConfigDao.class);
+        when(syncConfigDao.findById(CONFIG_ID)).thenReturn(
+                new SyncConfig(CONFIG_ID, "team", "Team", null, LocalDateTime.now(), null));
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void followsContinuationTokensUntilLastBatch() {
+        RevisionIngestResult result = service(1000).ingest(CONFIG_ID);
+
+        assertThat(requestedTokens).containsExactly("", "t1", "t2");
+        assertThat(result.pagesProcessed()).isEqualTo(3);
+        assertThat(result.caughtUp()).isTrue();
+        // Item 99 is outside the area path
+        assertThat(result.revisionsStored()).isEqualTo(5);
+        assertThat(revisionDao.cursor.continuationToken()).isEqualTo("t3");
+        assertThat(revisionDao.cursor.revisionsIngested()).isEqualTo(5);
+        assertThat(revisionDao.heads.keySet()).containsExactly(10, 11);
+    }
+
+    @Test
+    void storesEachRevisionAsDeltaAgainstThePreviousOne() {
+        service(1000).ingest(CONFIG_ID);
+
+        assertThat(revisionDao.changes(10, 1))
+                .contains("\"System.State\":\"New\"", "\"System.AreaPath\":\"Team\"");
+        assertThat(revisionDao.changes(10, 2)).isEqualTo("{\"System.State\":\"Active\"}");
+        assertThat(revisionDao.changes(10, 3)).isEqualTo("{\"System.State\":\"Closed\"}");
+        assertThat(revisionDao.changes(11, 2)).isEqualTo("{}");
+        assertThat(revisionDao.heads.get(10).rev()).isEqualTo(3);
+    }
+
+    @Test
+    void resumesFromTheLastStoredContinuationToken() {
+        RevisionIngestResult first = service(1).ingest(CONFIG_ID);
+
+        assertThat(first.caughtUp()).isFalse();
+        assertThat(first.revisionsStored()).isEqualTo(2);
+        assertThat(revisionDao.cursor.continuationToken()).isEqualTo("t1");
+
+        requestedTokens.clear();
+        RevisionIngestResult second = service(1000).ingest(CONFIG_ID);
+
+        assertThat(requestedTokens).containsExactly("t1", "t2");
+        assertThat(second.caughtUp()).isTrue();
+        assertThat(second.revisionsStored()).isEqualTo(3);
+        assertThat(revisionDao.revisions).hasSize(5);
+        assertThat(revisionDao.changes(10, 2)).isEqualTo("{\"System.State\":\"Active\"}");
+    }
+
+    @Test
+    void reingestingFromTheStartStoresNothingTwice() {
+        service(1000).ingest(CONFIG_ID);
+        Map<String, String> revisionsBefore = new TreeMap<>(revisionDao.revisions);
+        Map<Integer, WorkItemRevisionHead> headsBefore = new HashMap<>(revisionDao.heads);
+
+        // A lost cursor replays the whole history
+        revisionDao.cursor = null;
+        RevisionIngestResult replay = service(1000).ingest(CONFIG_ID);
+
+        assertThat(replay.pagesProcessed()).isEqualTo(3);
+        assertThat(replay.revisionsStored()).isZero();
+        assertThat(revisionDao.revisions).isEqualTo(revisionsBefore);
+        assertThat(revisionDao.heads).isEqualTo(headsBefore);
+        assertThat(revisionDao.cursor.continuationToken()).isEqualTo("t3");
+    }
+
+    @Test
+    void caughtUpIngestOnlyAsksForNewRevisions() {
+        service(1000).ingest(CONFIG_ID);
+        requestedTokens.clear();
+
+        RevisionIngestResult again = service(1000).ingest(CONFIG_ID);
+
+        assertThat(requestedTokens).containsExactly("t3");
+        assertThat(again.revisionsStored()).isZero();
+        assertThat(revisionDao.cursor.continuationToken()).isEqualTo("t3");
+    }
+
+    private RevisionIngestService service(int maxPages) {
+        SyncProperties syncProps = new SyncProperties(8, 4, true, Duration.ofMinutes(10), Duration.ofHours(6),
+                1000, maxPages, Duration.ofHours(24), false, Duration.ofMinutes(2), Duration.ofHours(2), 3,
+                Duration.ofSeconds(30), Duration.ofHours(24), Duration.ofSeconds(1), Duration.ofHours(2),
+                Duration.ofMinutes(1), 2000, 2000);
+        return new RevisionIngestService(azureClient, azureProps, syncProps, syncConfigDao, revisionDao,
+                new WorkItemMapper(), new ObjectMapper(), new TransactionTemplate(new NoOpTransactionManager()));
+    }
+
+    private static String queryParameter(String rawQuery, String name) {
+        for (String pair : rawQuery.split("&")) {
+            if (pair.startsWith(name + "=")) {
+                return URLDecoder.decode(pair.substring(name.length() + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return "";
+    }
+
+    private static String page(String continuationToken, boolean last, String... revisions) {
+        return "{\"values\":[" + String.join(",", revisions) + "],\"continuationToken\":\"" + continuationToken
+                + "\",\"isLastBatch\":" + last + "}";
+    }
+
+    private static String revision(int id, int rev, String state, String areaPath, String changedDate) {
+        return "{\"id\":" + id + ",\"rev\":" + rev + ",\"fields\":{"
+                + "\"System.WorkItemType\":\"Task\",\"System.State\":\"" + state + "\","
+                + "\"System.AreaPath\":\"" + areaPath + "\",\"Microsoft.VSTS.Common.Priority\":2,"
+                + "\"System.ChangedDate\":\"" + changedDate + "\","
+                + "\"System.ChangedBy\":{\"displayName\":\"Jan Kowalski\"}}}";
+    }
+
+    private static final class InMemoryRevisionDao implements WorkItemRevisionDao {
+
+        private final Map<String, String> revisions = new TreeMap<>();
+        private final Map<Integer, WorkItemRevisionHead> heads = new HashMap<>();
+        private RevisionIngestCursor cursor;
+
+        String changes(int workItemId, int rev) {
+            return revisions.get(workItemId + ":" + rev);
+        }
+
+        @Override
+        public List<WorkItemRevision> findByWorkItemId(Integer workItemId, Long syncConfigId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<WorkItemRevisionHead> findHeads(Long syncConfigId, Integer[] workItemIds) {
+            return Arrays.stream(workItemIds).map(heads::get).filter(head -> head != null).toList();
+        }
+
+        @Override
+        public int insertRevisions(List<WorkItemRevision> toInsert) {
+            int inserted = 0;
+            for (WorkItemRevision revision : toInsert) {
+                if (revisions.putIfAbsent(revision.workItemId() + ":" + revision.rev(), revision.changes()) == null) {
+                    inserted++;
+                }
+            }
+            return inserted;
+        }
+
+        @Override
+        public void upsertHeads(Long syncConfigId, List<WorkItemRevisionHead> toUpsert) {
+            for (WorkItemRevisionHead head : toUpsert) {
+                heads.merge(head.workItemId(), head, (existing, updated) ->
+                        existing.rev() < updated.rev() ? updated : existing);
+            }
+        }
+
+        @Override
+        public RevisionIngestCursor findCursor(Long syncConfigId) {
+            return cursor;
+        }
+
+        @Override
+        public void upsertCursor(Long syncConfigId, String continuationToken, int revisionsIngested) {
+            long total = (cursor != null ? cursor.revisionsIngested() : 0) + revisionsIngested;
+            cursor = new RevisionIngestCursor(syncConfigId, continuationToken, total, LocalDateTime.now());
+        }
+    }
+
+    private static final class NoOpTransactionManager implements PlatformTransactionManager {
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
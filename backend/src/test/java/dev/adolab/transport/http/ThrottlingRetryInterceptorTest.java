@@ -0,0 +1,250 @@
+package dev.adolab.transport.http;
+
+import dev.adolab.config.HttpTransportProperties.HostSettings;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ThrottlingRetryInterceptorTest {
+
+    private static final HostSettings SETTINGS = new HostSettings(Duration.ofSeconds(1), Duration.ofSeconds(1),
+            3, Duration.ofMillis(1), Duration.ofMillis(5), Duration.ofSeconds(30), 4, 1, 8);
+
+    @Test
+    void retryAfterMsWinsOverRetryAfter() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("retry-after-ms", "1500");
+        headers.set(HttpHeaders.RETRY_AFTER, "7");
+
+        assertThat(ThrottlingRetryInterceptor.serverDelay(headers)).isEqualTo(Duration.ofMillis(1500));
+    }
+
+    @Test
+    void unparseableRetryAfterMsFallsBackToRetryAfter() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("retry-after-ms", "soon");
+        headers.set(HttpHeaders.RETRY_AFTER, "7");
+
+        assertThat(ThrottlingRetryInterceptor.serverDelay(headers)).isEqualTo(Duration.ofSeconds(7));
+    }
+
+    @Test
+    void retryAfterHttpDateIsTimeUntilThatDate() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER,
+                ZonedDateTime.now().plusSeconds(20).format(DateTimeFormatter.RFC_1123_DATE_TIME));
+
+        assertThat(ThrottlingRetryInterceptor.serverDelay(headers))
+                .isBetween(Duration.ofSeconds(15), Duration.ofSeconds(20));
+    }
+
+    @Test
+    void retryAfterHttpDateInThePastIsZero() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER,
+                ZonedDateTime.now().minusMinutes(1).format(DateTimeFormatter.RFC_1123_DATE_TIME));
+
+        assertThat(ThrottlingRetryInterceptor.serverDelay(headers)).isZero();
+    }
+
+    @Test
+    void rateLimitResetIsParsedAsGoDuration() {
+        assertThat(resetDelay("6m0s")).isEqualTo(Duration.ofMinutes(6));
+        assertThat(resetDelay("1.5s")).isEqualTo(Duration.ofMillis(1500));
+        assertThat(resetDelay("250ms")).isEqualTo(Duration.ofMillis(250));
+        assertThat(resetDelay("1h2m")).isEqualTo(Duration.ofMinutes(62));
+        assertThat(resetDelay("later")).isNull();
+    }
+
+    @Test
+    void noDelayHeadersMeansOwnBackoff() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-RateLimit-Delay", "2.5");
+
+        assertThat(ThrottlingRetryInterceptor.serverDelay(headers)).isNull();
+    }
+
+    @Test
+    void throttledResponseIsRetriedAndShrinksLimit() throws IOException {
+        ThrottlingRetryInterceptor interceptor = new ThrottlingRetryInterceptor("test", SETTINGS);
+        Responses responses = new Responses(throttled(), ok());
+
+        ClientHttpResponse response = interceptor.intercept(request(HttpMethod.POST), new byte[0], responses);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(responses.calls.get()).isEqualTo(2);
+        assertThat(interceptor.concurrencyLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void rateLimitDelayHeaderShrinksLimitWithoutRetrying() throws IOException {
+        ThrottlingRetryInterceptor interceptor = new ThrottlingRetryInterceptor("test", SETTINGS);
+        MockClientHttpResponse delayed = ok();
+        delayed.getHeaders().set("X-RateLimit-Delay", "2.5");
+        Responses responses = new Responses(delayed);
+
+        ClientHttpResponse response = interceptor.intercept(request(HttpMethod.GET), new byte[0], responses);
+        response.close();
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(responses.calls.get()).isEqualTo(1);
+        assertThat(interceptor.concurrencyLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void permitIsHeldUntilResponseIsClosed() throws IOException {
+        ThrottlingRetryInterceptor interceptor = new ThrottlingRetryInterceptor("test", SETTINGS);
+        Responses responses = new Responses(throttled(), ok());
+
+        ClientHttpResponse response = interceptor.intercept(request(HttpMethod.GET), new byte[0], responses);
+
+        assertThat(interceptor.inFlight()).isEqualTo(1);
+        response.close();
+        assertThat(interceptor.inFlight()).isZero();
+        response.close();
+        assertThat(interceptor.inFlight()).isZero();
+    }
+
+    @Test
+    void gatewayErrorsAreRetriedForIdempotentMethods() throws IOException {
+        ThrottlingRetryInterceptor interceptor = new ThrottlingRetryInterceptor("test", SETTINGS);
+        Responses responses = new Responses(status(HttpStatus.BAD_GATEWAY), status(HttpStatus.GATEWAY_TIMEOUT), ok());
+
+        ClientHttpResponse response = interceptor.intercept(request(HttpMethod.GET), new byte[0], responses);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(responses.calls.get()).isEqualTo(3);
+        assertThat(interceptor.concurrencyLimit()).isEqualTo(4);
+    }
+
+    @Test
+    void gatewayErrorsAreNotRetriedForPost() throws IOException {
+        ThrottlingRetryInterceptor interceptor = new ThrottlingRetryInterceptor("test", SETTINGS);
+        Responses responses = new Responses(status(HttpStatus.BAD_GATEWAY), ok());
+
+        ClientHttpResponse response = interceptor.intercept(request(HttpMethod.POST), new byte[0], responses);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_GATEWAY);
+        assertThat(responses.calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void retriesStopAfterMaxRetries() throws IOException {
+        ThrottlingRetryInterceptor interceptor = new ThrottlingRetryInterceptor("test", SETTINGS);
+        Responses responses = new Responses(status(HttpStatus.GATEWAY_TIMEOUT), status(HttpStatus.GATEWAY_TIMEOUT),
+                status(HttpStatus.GATEWAY_TIMEOUT), status(HttpStatus.GATEWAY_TIMEOUT), ok());
+
+        ClientHttpResponse response = interceptor.intercept(request(HttpMethod.GET), new byte[0], responses);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.GATEWAY_TIMEOUT);
+        assertThat(responses.calls.get()).isEqualTo(SETTINGS.maxRetries() + 1);
+    }
+
+    @Test
+    void retryAfterBeyondMaximumIsNotWaitedFor() throws IOException {
+        ThrottlingRetryInterceptor interceptor = new ThrottlingRetryInterceptor("test", SETTINGS);
+        MockClientHttpResponse throttled = status(HttpStatus.TOO_MANY_REQUESTS);
+        throttled.getHeaders().set(HttpHeaders.RETRY_AFTER, "3600");
+        Responses responses = new Responses(throttled, ok());
+
+        ClientHttpResponse response = interceptor.intercept(request(HttpMethod.GET), new byte[0], responses);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(responses.calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void connectionErrorsAreRetriedOnlyForIdempotentMethods() throws IOException {
+        ThrottlingRetryInterceptor interceptor = new ThrottlingRetryInterceptor("test", SETTINGS);
+        Responses get = new Responses(new IOException("reset"), ok());
+        assertThat(interceptor.intercept(request(HttpMethod.GET), new byte[0], get).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+        assertThat(get.calls.get()).isEqualTo(2);
+
+        Responses post = new Responses(new IOException("reset"), ok());
+        assertThatThrownBy(() -> interceptor.intercept(request(HttpMethod.POST), new byte[0], post))
+                .isInstanceOf(IOException.class);
+        assertThat(post.calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void budgetIsChargedPerAttemptAndRefundedForFailedOnes() throws IOException {
+        AtomicInteger charges = new AtomicInteger();
+        AtomicInteger refunds = new AtomicInteger();
+        RequestBudget budget = request -> {
+            charges.incrementAndGet();
+            return refunds::incrementAndGet;
+        };
+        ThrottlingRetryInterceptor interceptor = new ThrottlingRetryInterceptor("test", SETTINGS, budget);
+        Responses responses = new Responses(throttled(), new IOException("reset"), ok());
+
+        interceptor.intercept(request(HttpMethod.GET), new byte[0], responses);
+
+        assertThat(charges.get()).isEqualTo(3);
+        assertThat(refunds.get()).isEqualTo(2);
+    }
+
+    private static Duration resetDelay(String value) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("x-ratelimit-reset-requests", value);
+        return ThrottlingRetryInterceptor.serverDelay(headers);
+    }
+
+    private static MockClientHttpRequest request(HttpMethod method) {
+        return new MockClientHttpRequest(method, URI.create("https://example.test/_apis/wit/workitems"));
+    }
+
+    private static MockClientHttpResponse ok() {
+        return status(HttpStatus.OK);
+    }
+
+    private static MockClientHttpResponse throttled() {
+        MockClientHttpResponse response = status(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set("retry-after-ms", "1");
+        return response;
+    }
+
+    private static MockClientHttpResponse status(HttpStatus status) {
+        return new MockClientHttpResponse(new byte[0], status);
+    }
+
+    // Plays back one response, or throws one exception, per attempt
+    private static final class Responses implements ClientHttpRequestExecution {
+
+        private final Deque<Object> outcomes = new ArrayDeque<>();
+        private final AtomicInteger calls = new AtomicInteger();
+
+        Responses(Object... outcomes) {
+            this.outcomes.addAll(List.of(outcomes));
+        }
+
+        @Override
+        public ClientHttpResponse execute(HttpRequest request, byte[] body) throws IOException {
+            calls.incrementAndGet();
+            Object outcome = outcomes.removeFirst();
+            if (outcome instanceof IOException e) {
+                throw e;
+            }
+            return (ClientHttpResponse) outcome;
+        }
+    }
+}
@@ -2,9 +2,10 @@ import { Component, inject, OnInit, signal, computed } from '@angular/core';
 import { CommonModule } from '@angular/common';
 import { Router } from '@angular/router';
 import { MatSnackBar, MatSnackBarModule } from '@angular/material/snack-bar';
+import { switchMap } from 'rxjs';
 import { WorkItemService } from '../../services/work-item.service';
 import { SyncService } from '../../services/sync.service';
-import { WorkItem, WorkItemFilter, WorkItemMetadata, SmartSearchResult } from '../../domain/work-item.model';
+import { WorkItem, WorkItemFilter, WorkItemMetadata, SmartSearchResult, SyncProgress } from '../../domain/work-item.model';
 import { FilterBarComponent } from '../filter-bar/filter-bar.component';
 
 @Component({
@@ -37,6 +38,20 @@ import { FilterBarComponent } from '../filter-bar/filter-bar.component';
           <div class="sync-progress">
             <div class="sync-progress-bar"></div>
           </div>
+          @if (syncProgress(); as progress) {
+            <div class="sync-status">
+              {{ progress.phase.toLowerCase() }}
+              @if (progress.total > 0) {
+                · {{ progress.processed }} / {{ progress.total }} items
+              }
+              @if (progress.itemsPerSecond > 0) {
+                · {{ progress.itemsPerSecond }}/s
+              }
+              @if (progress.etaSeconds !== null) {
+                · ~{{ progress.etaSeconds }}s left
+              }
+            </div>
+          }
         }
       </div>
 
@@ -541,6 +556,7 @@ export class WorkItemListComponent implements OnInit {
   metadata = signal<WorkItemMetadata | null>(null);
   loading = signal(true);
   syncing = signal(false);
+  syncProgress = signal<SyncProgress | null>(null);
   lastSynced = signal<string | null>(null);
   stateFilter = signal<'open' | 'closed' | 'all'>('all');
   stateCounts = signal<Record<string, number>>({});
@@ -575,11 +591,22 @@ export class WorkItemListComponent implements OnInit {
 
   executeSync() {
     this.syncing.set(true);
-    this.syncService.execute().subscribe({
-      next: result => {
+    this.syncProgress.set(null);
+    this.syncService.execute().pipe(
+      switchMap(job => this.syncService.jobEvents(job.id))
+    ).subscribe({
+      next: job => {
+        this.syncProgress.set(job.progress);
+        if (job.status === 'running') {
+          return;
+        }
         this.syncing.set(false);
+        if (job.status === 'failed' || !job.result) {
+          this.snackBar.open('Sync failed: ' + (job.error || 'unknown error'), 'OK', { duration: 5000 });
+          return;
+        }
         this.lastSynced.set(new Date().toISOString());
-        this.snackBar.open(`Synced ${result.itemsSynced} items in ${result.duration}`, 'OK', { duration: 5000 });
+        this.snackBar.open(`Synced ${job.result.itemsSynced} items in ${job.result.duration}`, 'OK', { duration: 5000 });
         this.loadMetadata();
         this.loadStateCounts();
         this.loadItems();
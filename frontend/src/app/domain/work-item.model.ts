@@ -21,6 +21,21 @@ export interface WorkItem {
   lastActivityDate: string | null;
 }
 
+export interface WorkItemTreeNode {
+  item: WorkItem;
+  depth: number;
+  children: WorkItemTreeNode[];
+}
+
+export interface WorkItemRollup {
+  workItemId: number;
+  total: number;
+  byState: Record<string, number>;
+  byType: Record<string, number>;
+  byTypeAndState: Record<string, Record<string, number>>;
+  remainingWork: number | null;
+}
+
 export interface WorkItemComment {
   id: number;
   workItemId: number;
@@ -49,8 +64,50 @@ export interface SyncResult {
   itemsAdded: number;
   itemsUpdated: number;
   itemsDeleted: number;
+  itemsUnchanged: number;
   commentsSynced: number;
   duration: string;
+  stages: SyncStageTiming[];
+}
+
+export interface SyncStageTiming {
+  stage: string;
+  millis: number;
+  samples: number;
+}
+
+export interface SyncProgress {
+  syncConfigId: number;
+  runId: number | null;
+  mode: string | null;
+  phase: string;
+  processed: number;
+  total: number;
+  itemsPerSecond: number;
+  etaSeconds: number | null;
+  updatedAt: string;
+}
+
+export interface RevisionIngestResult {
+  syncConfigId: number;
+  pagesProcessed: number;
+  revisionsStored: number;
+  caughtUp: boolean;
+  duration: string;
+}
+
+export interface SyncJob {
+  id: string;
+  type: 'sync' | 'revisions';
+  syncConfigId: number;
+  status: 'running' | 'completed' | 'failed';
+  submittedAt: string;
+  heartbeatAt: string | null;
+  finishedAt: string | null;
+  progress: SyncProgress | null;
+  result: SyncResult | null;
+  revisions: RevisionIngestResult | null;
+  error: string | null;
 }
 
 export interface WorkItemMetadata {
@@ -1,17 +1,43 @@
-import { Injectable, inject } from '@angular/core';
+import { Injectable, NgZone, inject } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
 import { Observable } from 'rxjs';
-import { SyncConfig, SyncResult } from '../domain/work-item.model';
+import { SyncConfig, SyncJob } from '../domain/work-item.model';
 
 @Injectable({ providedIn: 'root' })
 export class SyncService {
   private http = inject(HttpClient);
+  private zone = inject(NgZone);
 
   getConfig(): Observable<SyncConfig> {
     return this.http.get<SyncConfig>('/api/sync/config');
   }
 
-  execute(): Observable<SyncResult> {
-    return this.http.post<SyncResult>('/api/sync/execute', {});
+  execute(): Observable<SyncJob> {
+    return this.http.post<SyncJob>('/api/sync/execute', {});
+  }
+
+  getJob(jobId: string): Observable<SyncJob> {
+    return this.http.get<SyncJob>(`/api/sync/jobs/${jobId}`);
+  }
+
+  /** Emits the job on every progress event and completes after the final result event. */
+  jobEvents(jobId: string): Observable<SyncJob> {
+    return new Observable<SyncJob>(subscriber => {
+      const source = new EventSource(`/api/sync/jobs/${jobId}/events`);
+      source.addEventListener('progress', event =>
+        this.zone.run(() => subscriber.next(JSON.parse((event as MessageEvent).data))));
+      source.addEventListener('result', event => {
+        this.zone.run(() => {
+          subscriber.next(JSON.parse((event as MessageEvent).data));
+          subscriber.complete();
+        });
+        source.close();
+      });
+      source.onerror = () => {
+        source.close();
+        this.zone.run(() => subscriber.error(new Error('Lost connection to sync progress')));
+      };
+      return () => source.close();
+    });
   }
 }
@@ -1,7 +1,7 @@
 import { Injectable, inject } from '@angular/core';
 import { HttpClient, HttpParams } from '@angular/common/http';
 import { Observable } from 'rxjs';
-import { WorkItem, WorkItemComment, WorkItemFilter, WorkItemMetadata, SmartSearchResult, EmbeddingSummary } from '../domain/work-item.model';
+import { WorkItem, WorkItemComment, WorkItemTreeNode, WorkItemRollup, WorkItemFilter, WorkItemMetadata, SmartSearchResult, EmbeddingSummary } from '../domain/work-item.model';
 
 @Injectable({ providedIn: 'root' })
 export class WorkItemService {
@@ -28,6 +28,17 @@ export class WorkItemService {
     return this.http.get<WorkItem[]>(`/api/workitems/${parentId}/children`);
   }
 
+  getTree(id: number, maxDepth?: number): Observable<WorkItemTreeNode> {
+    let params = new HttpParams();
+    if (maxDepth != null) params = params.set('maxDepth', maxDepth);
+    return this.http.get<WorkItemTreeNode>(`/api/workitems/${id}/tree`, { params });
+  }
+
+  getRollups(ids: number[]): Observable<Record<number, WorkItemRollup>> {
+    const params = new HttpParams().set('ids', ids.join(','));
+    return this.http.get<Record<number, WorkItemRollup>>('/api/workitems/rollups', { params });
+  }
+
   getComments(workItemId: number): Observable<WorkItemComment[]> {
     return this.http.get<WorkItemComment[]>(`/api/workitems/${workItemId}/comments`);
   }